@@ -0,0 +1,60 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.DscatalogApplication;
+import com.devsuperior.dscatalog.services.CategoryStatsService;
+import com.devsuperior.dscatalog.services.ProductListingService;
+import com.devsuperior.dscatalog.services.ProductPageSnapshot;
+import com.devsuperior.dscatalog.services.ProductSearchService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Boots the application against a private in-memory H2 database and seeds it with a catalog
+ * of the requested size using set-based inserts. The seed publishes no events, so every
+ * structure built at startup from the database is rebuilt afterwards.
+ */
+final class BenchmarkCatalog {
+
+    static final int CATEGORIES = 50;
+
+    private BenchmarkCatalog() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, int products,
+                                                int categoriesPerProduct, String... args) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.sql.init.mode=never",
+                "--logging.level.root=WARN"));
+        Collections.addAll(arguments, args);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DscatalogApplication.class)
+                .web(webApplicationType)
+                .run(arguments.toArray(String[]::new));
+        seed(context.getBean(JdbcTemplate.class), products, categoriesPerProduct);
+        context.getBean(ProductListingService.class).rebuild();
+        context.getBean(CategoryStatsService.class).recompute();
+        context.getBean(ProductSearchService.class).rebuildIndex();
+        context.getBean(ProductPageSnapshot.class).rebuild();
+        return context;
+    }
+
+    private static void seed(JdbcTemplate jdbc, int products, int categoriesPerProduct) {
+        jdbc.update("INSERT INTO category (id, name, version, created_date) " +
+                "SELECT X, 'Category ' || X, 0, NOW() FROM SYSTEM_RANGE(1, ?)", CATEGORIES);
+        jdbc.update("INSERT INTO product (id, name, description, price, img_url, date, version, created_date) " +
+                "SELECT X, 'Product ' || X, REPEAT('Lorem ipsum dolor sit amet ', 20), MOD(X, 5000) + 0.99, " +
+                "'https://img.com/' || X || '.jpg', NOW(), 0, NOW() FROM SYSTEM_RANGE(1, ?)", products);
+        for (int i = 0; i < categoriesPerProduct; i++) {
+            jdbc.update("INSERT INTO product_category (product_id, category_id) " +
+                    "SELECT X, MOD(X + ?, ?) + 1 FROM SYSTEM_RANGE(1, ?)", i, CATEGORIES, products);
+        }
+        jdbc.execute("ALTER SEQUENCE category_seq RESTART WITH " + (CATEGORIES + 100));
+        jdbc.execute("ALTER SEQUENCE product_seq RESTART WITH " + (products + 100));
+    }
+}
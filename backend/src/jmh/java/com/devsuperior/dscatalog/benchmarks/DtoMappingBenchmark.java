@@ -0,0 +1,60 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"1", "3", "10"})
+    private int categoriesPerProduct;
+
+    private Product product;
+    private Category category;
+
+    @Setup
+    public void setUp() {
+        product = new Product(1L, "PC Gamer", "Lorem ipsum dolor sit amet ".repeat(20), 1200.0,
+                "https://img.com/1.jpg", Instant.now());
+        for (long i = 1; i <= categoriesPerProduct; i++) {
+            product.getCategories().add(new Category(i, "Category " + i, 0, Instant.now(), null));
+        }
+        category = new Category(1L, "Computers", 0, Instant.now(), null);
+    }
+
+    @Benchmark
+    public ProductDTO productDto() {
+        return new ProductDTO(product);
+    }
+
+    @Benchmark
+    public ProductDTO productDtoWithCategories() {
+        return new ProductDTO(product, product.getCategories());
+    }
+
+    @Benchmark
+    public CategoryDTO categoryDto() {
+        return new CategoryDTO(category);
+    }
+}
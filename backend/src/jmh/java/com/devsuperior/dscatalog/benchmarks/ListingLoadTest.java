@@ -0,0 +1,95 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test of {@code GET /products} against the application started once with
+ * platform request threads and once with virtual threads, printing throughput and latency
+ * percentiles for each mode. Tunable with {@code -Dload.concurrency}, {@code -Dload.duration},
+ * {@code -Dload.warmup} and {@code -Dload.products}.
+ */
+public class ListingLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 500);
+    private static final Duration DURATION = Duration.parse("PT" + System.getProperty("load.duration", "30s"));
+    private static final Duration WARMUP = Duration.parse("PT" + System.getProperty("load.warmup", "10s"));
+    private static final int PRODUCTS = Integer.getInteger("load.products", 100_000);
+    private static final int PAGES_SAMPLED = 100;
+
+    public static void main(String[] args) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            System.out.println("Java " + Runtime.version().feature() + " has no virtual threads; "
+                    + "both runs will use platform threads.");
+        }
+        for (boolean virtual : new boolean[]{false, true}) {
+            run(virtual);
+        }
+    }
+
+    private static void run(boolean virtual) throws Exception {
+        try (ConfigurableApplicationContext context = BenchmarkCatalog.start(WebApplicationType.SERVLET, PRODUCTS, 3,
+                "--server.port=0", "--spring.threads.virtual.enabled=" + virtual)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+            drive(client, baseUrl, WARMUP, null, new LongAdder());
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            Timer latency = Timer.builder("load.latency").publishPercentiles(0.5, 0.99).register(registry);
+            LongAdder errors = new LongAdder();
+            drive(client, baseUrl, DURATION, latency, errors);
+
+            System.out.printf("%s threads: %.1f req/s, %d errors", virtual ? "virtual" : "platform",
+                    latency.count() / (double) DURATION.toSeconds(), errors.sum());
+            for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+                System.out.printf(", p%.0f %.1f ms", percentile.percentile() * 100,
+                        percentile.value(TimeUnit.MILLISECONDS));
+            }
+            System.out.println();
+        }
+    }
+
+    private static void drive(HttpClient client, String baseUrl, Duration duration, Timer latency,
+                              LongAdder errors) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    int page = ThreadLocalRandom.current().nextInt(PAGES_SAMPLED);
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/products?size=20&page=" + page))
+                            .header("Accept", "application/json")
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                        } else if (latency != null) {
+                            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        }
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,106 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost of one listing page in the envelope {@code GET /products} returns, per wire
+ * format, page size and view. The bytes on the wire, raw and gzipped, are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"summary", "full"})
+    private String view;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private PagedModel<?> page;
+
+    @Setup
+    public void setUp() {
+        mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> JsonMapper.builder().build();
+        };
+        List<Object> content = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            content.add(view.equals("summary") ? summary(i) : product(i));
+        }
+        page = new PagedModel<>(new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000));
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(gzip, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    @TearDown
+    public void reportSize() throws Exception {
+        System.out.printf("%n%s/%s/%d: %d bytes raw, %d bytes gzip%n",
+                format, view, pageSize, serialize().length, serializeGzip().length);
+    }
+
+    private static ProductSummaryDTO summary(long id) {
+        return new ProductSummaryDTO(id, "Product " + id, 1200.0 + id, "https://img.com/" + id + ".jpg", null, Instant.now());
+    }
+
+    private static ProductDTO product(long id) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(id);
+        dto.setName("Product " + id);
+        dto.setDescription("Lorem ipsum dolor sit amet ".repeat(20));
+        dto.setPrice(1200.0 + id);
+        dto.setImgUrl("https://img.com/" + id + ".jpg");
+        dto.setDate(Instant.now());
+        dto.getCategories().add(new CategoryDTO(3L, "Computers"));
+        return dto;
+    }
+}
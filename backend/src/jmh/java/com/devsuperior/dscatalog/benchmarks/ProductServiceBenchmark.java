@@ -0,0 +1,113 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
+import com.devsuperior.dscatalog.services.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service hot paths against an H2 catalog seeded with {@code products} rows, each linked to
+ * {@code categoriesPerProduct} categories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ProductServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int PAGES_SAMPLED = 100;
+
+    @Param({"10000", "100000", "1000000"})
+    private int products;
+
+    @Param({"1", "3"})
+    private int categoriesPerProduct;
+
+    private ConfigurableApplicationContext context;
+    private ProductService service;
+    private TransactionTemplate transactionTemplate;
+    private ProductDTO updateDto;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkCatalog.start(WebApplicationType.NONE, products, categoriesPerProduct);
+
+        service = context.getBean(ProductService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        updateDto = new ProductDTO();
+        updateDto.setName("Updated product");
+        updateDto.setDescription("Updated description");
+        updateDto.setPrice(999.0);
+        updateDto.setImgUrl("https://img.com/updated.jpg");
+        updateDto.setDate(Instant.now());
+        for (long i = 1; i <= categoriesPerProduct; i++) {
+            updateDto.getCategories().add(new CategoryDTO(i, null));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductDTO> findAllPaged() {
+        return service.findAllPaged(new ProductFilterDTO(), randomPage());
+    }
+
+    @Benchmark
+    public Page<ProductSummaryDTO> findSummaries() {
+        return service.findSummaries(new ProductFilterDTO(), randomPage());
+    }
+
+    @Benchmark
+    public ProductDTO findById() {
+        return service.findById(randomId());
+    }
+
+    /**
+     * Entity lookup and DTO-to-entity copy of an update, rolled back so the dataset and the
+     * version column stay unchanged between invocations.
+     */
+    @Benchmark
+    public ProductDTO update() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return service.update(randomId(), updateDto);
+        });
+    }
+
+    private PageRequest randomPage() {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(PAGES_SAMPLED), PAGE_SIZE);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, products + 1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.devsuperior.dscatalog.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_PAGES = "categoryPages";
+
+    /** Hibernate second-level cache regions, configured in hibernate-cache.conf. */
+    public static final List<String> SECOND_LEVEL_REGIONS = List.of("category", "product-categories", "category-queries");
+
+    /**
+     * Puts and evictions are deferred until the surrounding transaction commits, so a
+     * rolled back write never leaves the cache holding data the database does not have.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${catalog.cache.categories.maximum-size}") long maximumSize,
+                                     @Value("${catalog.cache.categories.ttl}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(CATEGORIES, CATEGORY_PAGES));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> SECOND_LEVEL_REGIONS.forEach(region ->
+                Gauge.builder("catalog.cache.l2.hit.ratio", statistics, s -> hitRatio(s, region))
+                        .description("Hit ratio of a Hibernate second-level cache region")
+                        .tag("region", region)
+                        .register(registry));
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        long requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests == 0 ? Double.NaN : (double) regionStatistics.getHitCount() / requests;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.devsuperior.dscatalog.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent calls to the annotated method with equal arguments share one invocation and its
+ * result. Only for reads whose result callers do not modify.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
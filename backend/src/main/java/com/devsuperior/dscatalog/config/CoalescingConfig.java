@@ -0,0 +1,30 @@
+package com.devsuperior.dscatalog.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class CoalescingConfig {
+
+    /**
+     * Ordered inside the service metrics advisor but ahead of caching and transactions, so a
+     * follower waits without opening a transaction or borrowing a connection.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor coalescingAdvisor(ObjectProvider<MeterRegistry> registry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, Coalesced.class, true), new CoalescingInterceptor(registry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+
+}
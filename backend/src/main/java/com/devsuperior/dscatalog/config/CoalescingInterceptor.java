@@ -0,0 +1,88 @@
+package com.devsuperior.dscatalog.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Single-flight for {@link Coalesced} methods: the first caller runs the invocation and callers
+ * arriving with equal arguments while it is in flight wait for its result or exception instead of
+ * running their own. Nothing is kept once the call completes. Callers already inside a
+ * transaction are never joined, so they keep seeing their own uncommitted writes, and callers
+ * pinned to the primary by {@link ReplicaRoutingDataSource} only join other pinned callers, so
+ * they never receive a result read from a lagging replica.
+ * Counted as {@code catalog.coalescing.calls}, tagged with class, method and role (leader or
+ * follower).
+ */
+public class CoalescingInterceptor implements MethodInterceptor {
+
+    private record Key(Method method, List<Object> arguments, boolean pinned) {
+    }
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private volatile MeterRegistry registry;
+
+    public CoalescingInterceptor(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        Key key = new Key(invocation.getMethod(), Arrays.asList(invocation.getArguments()),
+                ReplicaRoutingDataSource.isPinned());
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            counter(invocation, "follower").increment();
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+        counter(invocation, "leader").increment();
+        try {
+            Object result = invocation.proceed();
+            call.complete(result);
+            return result;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private Counter counter(MethodInvocation invocation, String role) {
+        return Counter.builder("catalog.coalescing.calls")
+                .tag("class", ClassUtils.getUserClass(invocation.getThis()).getSimpleName())
+                .tag("method", invocation.getMethod().getName())
+                .tag("role", role)
+                .register(registry());
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry registry = this.registry;
+        if (registry == null) {
+            registry = registryProvider.getObject();
+            this.registry = registry;
+        }
+        return registry;
+    }
+}
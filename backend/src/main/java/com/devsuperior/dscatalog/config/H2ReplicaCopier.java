@@ -0,0 +1,50 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local stand-in for replication between two H2 databases: once the primary has its schema and
+ * seed data, its {@code SCRIPT} is replayed into the replica. The copy never catches up
+ * afterwards, so a read served by the replica is easy to tell from one served by the primary.
+ */
+public class H2ReplicaCopier implements ApplicationListener<ContextRefreshedEvent> {
+
+    private final String primaryUrl;
+    private final String replicaUrl;
+    private final String username;
+    private final String password;
+    private final AtomicBoolean copied = new AtomicBoolean();
+
+    public H2ReplicaCopier(String primaryUrl, String replicaUrl, String username, String password) {
+        this.primaryUrl = primaryUrl;
+        this.replicaUrl = replicaUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (!copied.compareAndSet(false, true)) {
+            return;
+        }
+        try (Connection primary = DriverManager.getConnection(primaryUrl, username, password);
+             Connection replica = DriverManager.getConnection(replicaUrl, username, password);
+             Statement script = primary.createStatement();
+             ResultSet statements = script.executeQuery("SCRIPT");
+             Statement run = replica.createStatement()) {
+            while (statements.next()) {
+                run.execute(statements.getString(1));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not copy the primary database into the replica", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.devsuperior.dscatalog.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Pins a request to the primary when it may write, and keeps the same client pinned for
+ * {@code stickyFor} afterwards through a cookie holding the pin's expiry, so the client reads
+ * its own writes even while the replica catches up.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "catalog-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration stickyFor;
+
+    public ReadYourWritesFilter(Duration stickyFor) {
+        this.stickyFor = stickyFor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean writing = !SAFE_METHODS.contains(request.getMethod());
+        if (writing) {
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + stickyFor.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, stickyFor.toSeconds()));
+            response.addCookie(cookie);
+        }
+        if (writing || pinnedUntil(request) > System.currentTimeMillis()) {
+            ReplicaRoutingDataSource.pin();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    private long pinnedUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
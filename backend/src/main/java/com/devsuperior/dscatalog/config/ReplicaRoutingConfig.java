@@ -0,0 +1,78 @@
+package com.devsuperior.dscatalog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write splitting, enabled with {@code catalog.datasource.replica.enabled}. The primary pool
+ * is built from {@code spring.datasource.*} and the replica pool from
+ * {@code catalog.datasource.replica.*}; Hikari settings are bound from the {@code hikari}
+ * sub-keys of each.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(DataSourceProperties properties, Environment environment,
+                                                      @Value("${catalog.datasource.replica.url}") String url,
+                                                      @Value("${catalog.datasource.replica.username}") String username,
+                                                      @Value("${catalog.datasource.replica.password}") String password,
+                                                      @Value("${catalog.datasource.replica.lag-query}") String lagQuery,
+                                                      @Value("${catalog.datasource.replica.max-lag}") Duration maxLag) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url).username(username).password(password)
+                .build();
+        binder.bind("catalog.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+
+        return new ReplicaRoutingDataSource(primary, replica, lagQuery, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ReplicaRoutingDataSource routingDataSource) {
+        return routingDataSource::bindTo;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "catalog.datasource.replica.copy-primary", havingValue = "true")
+    public H2ReplicaCopier h2ReplicaCopier(DataSourceProperties properties,
+                                           @Value("${catalog.datasource.replica.url}") String url) {
+        return new H2ReplicaCopier(properties.determineUrl(), url, properties.determineUsername(),
+                properties.determinePassword());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${catalog.datasource.replica.sticky-for}") Duration stickyFor) {
+        return new ReadYourWritesFilter(stickyFor);
+    }
+
+}
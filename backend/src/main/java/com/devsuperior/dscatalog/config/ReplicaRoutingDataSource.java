@@ -0,0 +1,97 @@
+package com.devsuperior.dscatalog.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Reads stay on
+ * the primary while the replica lag last reported by {@code lagQuery} exceeds {@code maxLag}, and
+ * while the current thread is pinned by {@link ReadYourWritesFilter}. Has to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the route is
+ * chosen after the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {PRIMARY, REPLICA}
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean replicaAvailable;
+    private volatile Counter primaryRoutes;
+    private volatile Counter replicaRoutes;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery, Duration maxLag) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        primaryRoutes = Counter.builder("catalog.datasource.route").tag("target", "primary")
+                .description("Connections handed out per routing target")
+                .register(registry);
+        replicaRoutes = Counter.builder("catalog.datasource.route").tag("target", "replica")
+                .description("Connections handed out per routing target")
+                .register(registry);
+        Gauge.builder("catalog.datasource.replica.lag", this, source -> source.lagSeconds)
+                .description("Replica lag in seconds at the last check, NaN if the check failed")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.datasource.replica.lag-check-interval}")
+    public void checkLag() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            double lag = result.next() ? result.getDouble(1) : 0;
+            lagSeconds = lag;
+            replicaAvailable = lag * 1000 <= maxLag.toMillis();
+        } catch (SQLException e) {
+            lagSeconds = Double.NaN;
+            replicaAvailable = false;
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean replicaRead = replicaAvailable
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !isPinned();
+        Counter counter = replicaRead ? replicaRoutes : primaryRoutes;
+        if (counter != null) {
+            counter.increment();
+        }
+        return replicaRead ? Route.REPLICA : Route.PRIMARY;
+    }
+}
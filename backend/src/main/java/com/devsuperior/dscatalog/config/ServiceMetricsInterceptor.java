@@ -0,0 +1,77 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+
+/**
+ * Times every public service method as {@code catalog.service} (tagged with class, method
+ * and exception) and records how many rows a call returned as {@code catalog.service.rows}.
+ */
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private volatile MeterRegistry registry;
+
+    public ServiceMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = registry();
+        String className = ClassUtils.getUserClass(invocation.getThis()).getSimpleName();
+        String methodName = invocation.getMethod().getName();
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            Object result = invocation.proceed();
+            recordRows(registry, className, methodName, result);
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("catalog.service")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+
+    private void recordRows(MeterRegistry registry, String className, String methodName, Object result) {
+        int rows;
+        if (result instanceof Slice<?> slice) {
+            rows = slice.getNumberOfElements();
+        } else if (result instanceof CursorPageDTO<?> page) {
+            rows = page.getContent().size();
+        } else if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else {
+            return;
+        }
+        DistributionSummary.builder("catalog.service.rows")
+                .tag("class", className)
+                .tag("method", methodName)
+                .register(registry)
+                .record(rows);
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry registry = this.registry;
+        if (registry == null) {
+            registry = registryProvider.getObject();
+            this.registry = registry;
+        }
+        return registry;
+    }
+}
@@ -0,0 +1,64 @@
+package com.devsuperior.dscatalog.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lets through a random share of Hibernate's slow query log, set by
+ * {@code catalog.jpa.slow-query-sample-rate}. Every slow statement is still counted in
+ * {@code catalog.jpa.slow-queries}, so the rate stays visible when most lines are dropped.
+ */
+@Component
+public class SlowQueryLogSampler extends TurboFilter {
+
+    static final String SLOW_QUERY_LOGGER = "org.hibernate.SQL_SLOW";
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> registry;
+
+    @Value("${catalog.jpa.slow-query-sample-rate}")
+    private double sampleRate;
+
+    @PostConstruct
+    void install() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.getTurboFilterList().removeIf(filter -> filter instanceof SlowQueryLogSampler);
+        context.addTurboFilter(this);
+        start();
+    }
+
+    @PreDestroy
+    void uninstall() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getTurboFilterList().remove(this);
+        stop();
+    }
+
+    /**
+     * Level checks arrive without a format and are left alone, so a statement is sampled once.
+     */
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || !SLOW_QUERY_LOGGER.equals(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        if (meterRegistry != null) {
+            meterRegistry.counter("catalog.jpa.slow-queries").increment();
+        }
+        return ThreadLocalRandom.current().nextDouble() < sampleRate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
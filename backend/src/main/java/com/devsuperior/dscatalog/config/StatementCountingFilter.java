@@ -0,0 +1,46 @@
+package com.devsuperior.dscatalog.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records {@code catalog.request.statements}, the number of SQL statements issued while
+ * serving a request, tagged with the matched URI pattern.
+ */
+@Component
+public class StatementCountingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> registry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = StatementCounter.stop();
+            MeterRegistry meterRegistry = registry.getIfAvailable();
+            if (meterRegistry != null) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("catalog.request.statements")
+                        .tag("method", request.getMethod())
+                        .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                        .register(meterRegistry)
+                        .record(statements);
+            }
+        }
+    }
+}
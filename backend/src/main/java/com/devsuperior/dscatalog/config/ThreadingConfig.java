@@ -0,0 +1,63 @@
+package com.devsuperior.dscatalog.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Virtual threads are opt-in through {@code spring.threads.virtual.enabled}, which Spring Boot
+ * applies to Tomcat and the {@code @Async} executor when running on Java 21 or later. In that
+ * mode the datasource is put behind an {@link AdmissionControlDataSource}; with read/write
+ * splitting only the outer proxy is wrapped, so one budget covers both pools.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public static BeanPostProcessor dataSourceAdmissionPostProcessor(
+            @Value("${catalog.datasource.admission.max-concurrent}") int maxConcurrent,
+            @Value("${catalog.datasource.admission.timeout}") Duration timeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlDataSource)
+                        && !(bean instanceof AbstractRoutingDataSource)) {
+                    return new AdmissionControlDataSource(dataSource, maxConcurrent, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public MeterBinder dataSourceAdmissionMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                dataSource.unwrap(AdmissionControlDataSource.class).bindTo(registry);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Datasource is not admission controlled", e);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor() {
+        return new VirtualThreadPinningMonitor();
+    }
+
+}
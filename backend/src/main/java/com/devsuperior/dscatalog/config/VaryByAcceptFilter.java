@@ -0,0 +1,37 @@
+package com.devsuperior.dscatalog.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Adds {@code Vary: Accept} to reads, including 304s. JSON, CBOR and Smile representations of a
+ * resource share one weak ETag, so caches must key them by the Accept header. Stored images are
+ * served in a single representation and are left alone.
+ */
+@Component
+public class VaryByAcceptFilter extends OncePerRequestFilter {
+
+    @Value("${catalog.images.base-url}")
+    private String imagesBaseUrl;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))
+                || request.getRequestURI().startsWith(request.getContextPath() + imagesBaseUrl + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        chain.doFilter(request, response);
+    }
+}
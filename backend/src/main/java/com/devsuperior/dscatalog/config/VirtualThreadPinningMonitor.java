@@ -0,0 +1,41 @@
+package com.devsuperior.dscatalog.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event into the
+ * {@code catalog.threads.virtual.pinned} timer. The event only exists on Java 21+.
+ */
+public class VirtualThreadPinningMonitor implements MeterBinder, DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private RecordingStream stream;
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        if (stream != null || Runtime.version().feature() < 21) {
+            return;
+        }
+        Timer pinned = Timer.builder("catalog.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier while blocking")
+                .register(registry);
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(20));
+        stream.onEvent(PINNED_EVENT, event -> pinned.record(event.getDuration()));
+        stream.startAsync();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.devsuperior.dscatalog.controllers;
 
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CategoryStatsDTO;
+import com.devsuperior.dscatalog.dto.ResourceStampDTO;
+import com.devsuperior.dscatalog.exceptions.PreconditionFailedException;
 import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.CategoryStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping(value = "/categories")
@@ -18,15 +26,50 @@ public class CategoryController {
     @Autowired
     private CategoryService service;
 
+    @Autowired
+    private CategoryStatsService statsService;
+
     @GetMapping
-    public ResponseEntity<Page<CategoryDTO>> findAll(Pageable pageable) {
+    public ResponseEntity<Page<CategoryDTO>> findAll(Pageable pageable, WebRequest request) {
+        ResourceStampDTO stamp = service.findStamp();
+        if (request.checkNotModified(stamp.getETag())) {
+            return null;
+        }
         Page<CategoryDTO> list = service.findAllPaged(pageable);
         return ResponseEntity.ok().body(list);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDTO<CategoryDTO>> findAllByCursor(@RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "id") String sort,
+                                                                      @RequestParam(defaultValue = "20") int size,
+                                                                      WebRequest request) {
+        ResourceStampDTO stamp = service.findStamp();
+        if (request.checkNotModified(stamp.getETag())) {
+            return null;
+        }
+        CursorPageDTO<CategoryDTO> list = service.findAllByCursor(cursor, sort, size);
+        return ResponseEntity.ok().body(list);
+    }
+
     @GetMapping(value = "/{id}")
-    public ResponseEntity<CategoryDTO> findById(@PathVariable Long id) {
-        return ResponseEntity.ok().body(service.findById(id));
+    public ResponseEntity<CategoryDTO> findById(@PathVariable Long id, WebRequest request) {
+        ResourceStampDTO stamp = service.findStampById(id);
+        if (request.checkNotModified(stamp.getETag(), stamp.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok().header(ResourceStampDTO.STRONG_ETAG_HEADER, stamp.getStrongETag())
+                .body(service.findById(id));
+    }
+
+    @GetMapping(value = "/stats")
+    public ResponseEntity<List<CategoryStatsDTO>> findAllStats() {
+        return ResponseEntity.ok().body(statsService.findAll());
+    }
+
+    @GetMapping(value = "/{id}/stats")
+    public ResponseEntity<CategoryStatsDTO> findStats(@PathVariable Long id) {
+        return ResponseEntity.ok().body(statsService.findById(id));
     }
 
     @PostMapping
@@ -38,9 +81,19 @@ public class CategoryController {
     }
 
     @PutMapping(value = "/{id}")
-    public ResponseEntity<CategoryDTO> update(@PathVariable Long id, @RequestBody CategoryDTO dto) {
-        dto = service.update(id, dto);
-        return ResponseEntity.ok().body(dto);
+    public ResponseEntity<CategoryDTO> update(@PathVariable Long id, @RequestBody CategoryDTO dto,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch == null) {
+            dto = service.update(id, dto);
+        } else {
+            ResourceStampDTO stamp = service.findStampById(id);
+            if (!stamp.matches(ifMatch)) {
+                throw new PreconditionFailedException("Category with id " + id + " does not match " + ifMatch);
+            }
+            dto = service.update(id, dto, stamp.getVersions());
+        }
+        return ResponseEntity.ok().header(ResourceStampDTO.STRONG_ETAG_HEADER, service.findStampById(id).getStrongETag())
+                .body(dto);
     }
 
     @DeleteMapping(value = "/{id}")
@@ -0,0 +1,22 @@
+package com.devsuperior.dscatalog.controllers;
+
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.services.ChangeLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/changes")
+public class ChangeController {
+
+    @Autowired
+    private ChangeLogService service;
+
+    @GetMapping
+    public ResponseEntity<ChangeFeedDTO> findSince(@RequestParam(defaultValue = "0") long since,
+                                                   @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok().body(service.findSince(since, size));
+    }
+
+}
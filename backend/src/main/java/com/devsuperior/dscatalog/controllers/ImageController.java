@@ -0,0 +1,73 @@
+package com.devsuperior.dscatalog.controllers;
+
+import com.devsuperior.dscatalog.services.ImageStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * Serves stored product images. On Tomcat the file is handed to the connector's sendfile
+ * support so the kernel copies it straight to the socket; elsewhere it falls back to
+ * {@link FileChannel#transferTo}.
+ */
+@RestController
+@RequestMapping(value = "/images")
+public class ImageController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // file names are unique per upload, so a URL always refers to the same bytes
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic().immutable().getHeaderValue();
+
+    @Autowired
+    private ImageStorage storage;
+
+    @GetMapping(value = "/{productId}/{filename:.+}")
+    public void serve(@PathVariable Long productId, @PathVariable String filename,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = storage.resolve(productId, filename);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(Files.getLastModifiedTime(file).toMillis())) {
+            return;
+        }
+        long length = Files.size(file);
+        response.setContentType(storage.contentType(file).toString());
+        response.setContentLengthLong(length);
+        if (request.getMethod().equals("HEAD")) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < length) {
+                position += channel.transferTo(position, length - position, out);
+            }
+        }
+    }
+}
@@ -1,32 +1,138 @@
 package com.devsuperior.dscatalog.controllers;
 
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.dto.ProductImportResultDTO;
+import com.devsuperior.dscatalog.dto.ProductLookupDTO;
+import com.devsuperior.dscatalog.dto.ProductPatchDTO;
+import com.devsuperior.dscatalog.dto.ProductPriceDTO;
+import com.devsuperior.dscatalog.dto.ProductRepriceResultDTO;
+import com.devsuperior.dscatalog.dto.ResourceStampDTO;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.exceptions.PreconditionFailedException;
+import com.devsuperior.dscatalog.services.ProductExportService;
+import com.devsuperior.dscatalog.services.ProductImageService;
+import com.devsuperior.dscatalog.services.ProductImportService;
+import com.devsuperior.dscatalog.services.ProductPageSnapshot;
+import com.devsuperior.dscatalog.services.ProductPriceService;
+import com.devsuperior.dscatalog.services.ProductSearchService;
 import com.devsuperior.dscatalog.services.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping(value = "/products")
 public class ProductController {
 
+    private static final Set<String> OPTIONAL_FIELDS = Set.of("description", "categories");
+
     @Autowired
     private ProductService service;
 
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductExportService exportService;
+
+    @Autowired
+    private ProductSearchService searchService;
+
+    @Autowired
+    private ProductPriceService priceService;
+
+    @Autowired
+    private ProductPageSnapshot pageSnapshot;
+
+    @Autowired
+    private ProductImageService imageService;
+
     @GetMapping
-    public ResponseEntity<Page<ProductDTO>> findAll(Pageable page) {
-        Page<ProductDTO> list = service.findAllPaged(page);
+    public ResponseEntity<?> findAll(ProductFilterDTO filter, @RequestParam(required = false) Set<String> fields,
+                                     Pageable page, WebRequest request) {
+        if ((fields == null || fields.isEmpty()) && filter.isEmpty() && prefersJson(request)) {
+            ProductPageSnapshot.HotPage hot = pageSnapshot.find(page);
+            if (hot != null) {
+                if (request.checkNotModified(hot.stamp().getETag())) {
+                    return null;
+                }
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(hot.json());
+            }
+        }
+        ResourceStampDTO stamp = service.findStamp();
+        if (request.checkNotModified(stamp.getETag())) {
+            return null;
+        }
+        if (fields == null || fields.isEmpty()) {
+            return ResponseEntity.ok().body(service.findSummaries(filter, page));
+        }
+        if (!OPTIONAL_FIELDS.containsAll(fields)) {
+            throw new InvalidRequestException("Unknown fields " + fields + ", expected any of " + OPTIONAL_FIELDS);
+        }
+        return ResponseEntity.ok().body(service.findFields(filter, fields, page));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDTO<ProductDTO>> findAllByCursor(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "id") String sort,
+                                                                     @RequestParam(defaultValue = "20") int size,
+                                                                     WebRequest request) {
+        ResourceStampDTO stamp = service.findStamp();
+        if (request.checkNotModified(stamp.getETag())) {
+            return null;
+        }
+        CursorPageDTO<ProductDTO> list = service.findAllByCursor(cursor, sort, size);
+        return ResponseEntity.ok().body(list);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<ProductLookupDTO> findAllById(@RequestParam List<Long> ids, WebRequest request) {
+        ResourceStampDTO stamp = service.findStampByIds(ids);
+        if (request.checkNotModified(stamp.getETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().body(service.findAllById(ids));
+    }
+
+    @GetMapping(value = "/search")
+    public ResponseEntity<Page<ProductDTO>> search(@RequestParam String q,
+                                                   @RequestParam(required = false) Long categoryId,
+                                                   Pageable page) {
+        Page<ProductDTO> list = searchService.search(q, categoryId, page);
         return ResponseEntity.ok().body(list);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> exportService.exportNdjson(out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
-        return ResponseEntity.ok().body(service.findById(id));
+    public ResponseEntity<ProductDTO> findById(@PathVariable Long id, WebRequest request) {
+        ResourceStampDTO stamp = service.findStampById(id);
+        if (request.checkNotModified(stamp.getETag(), stamp.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok().header(ResourceStampDTO.STRONG_ETAG_HEADER, stamp.getStrongETag())
+                .body(service.findById(id));
     }
 
     @PostMapping
@@ -37,10 +143,47 @@ public class ProductController {
         return ResponseEntity.created(uri).body(dto);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductImportResultDTO> importJson(InputStream body) throws IOException {
+        return ResponseEntity.ok().body(importService.importJson(body));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ProductImportResultDTO> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok().body(importService.importNdjson(body));
+    }
+
+    @PostMapping(value = "/{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductDTO> uploadImage(@PathVariable Long id, @RequestParam MultipartFile file)
+            throws IOException {
+        return ResponseEntity.ok().body(imageService.upload(id, file));
+    }
+
+    @PatchMapping(value = "/prices")
+    public ResponseEntity<ProductRepriceResultDTO> updatePrices(@RequestBody List<ProductPriceDTO> prices) {
+        return ResponseEntity.ok().body(priceService.updatePrices(prices));
+    }
+
+    @PostMapping(value = "/prices/adjustment")
+    public ResponseEntity<ProductRepriceResultDTO> adjustPrices(@RequestParam Long categoryId,
+                                                                @RequestParam double percent) {
+        return ResponseEntity.ok().body(priceService.adjustPrices(categoryId, percent));
+    }
+
     @PutMapping(value = "/{id}")
-    public ResponseEntity<ProductDTO> update(@PathVariable Long id, @RequestBody ProductDTO dto) {
-        dto = service.update(id, dto);
-        return ResponseEntity.ok().body(dto);
+    public ResponseEntity<ProductDTO> update(@PathVariable Long id, @RequestBody ProductDTO dto,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        dto = ifMatch == null ? service.update(id, dto) : service.update(id, dto, matchedVersion(id, ifMatch));
+        return ResponseEntity.ok().header(ResourceStampDTO.STRONG_ETAG_HEADER, service.findStampById(id).getStrongETag())
+                .body(dto);
+    }
+
+    @PatchMapping(value = "/{id}")
+    public ResponseEntity<ProductDTO> patch(@PathVariable Long id, @RequestBody ProductPatchDTO dto,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProductDTO result = ifMatch == null ? service.patch(id, dto) : service.patch(id, dto, matchedVersion(id, ifMatch));
+        return ResponseEntity.ok().header(ResourceStampDTO.STRONG_ETAG_HEADER, service.findStampById(id).getStrongETag())
+                .body(result);
     }
 
     @DeleteMapping(value = "/{id}")
@@ -49,4 +192,23 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    private boolean prefersJson(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return true;
+        }
+        MediaType preferred = MediaType.parseMediaTypes(accept).stream()
+                .max(Comparator.comparingDouble(MediaType::getQualityValue))
+                .orElse(MediaType.ALL);
+        return preferred.isCompatibleWith(MediaType.APPLICATION_JSON);
+    }
+
+    private long matchedVersion(Long id, String ifMatch) {
+        ResourceStampDTO stamp = service.findStampById(id);
+        if (!stamp.matches(ifMatch)) {
+            throw new PreconditionFailedException("Product with id " + id + " does not match " + ifMatch);
+        }
+        return stamp.getVersions();
+    }
+
 }
@@ -0,0 +1,34 @@
+package com.devsuperior.dscatalog.dto;
+
+import com.devsuperior.dscatalog.entities.CatalogChange;
+import com.devsuperior.dscatalog.events.ChangeType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class CatalogChangeDTO {
+
+    private Long id;
+    private String entityType;
+    private Long entityId;
+    private ChangeType type;
+    private Instant occurredAt;
+
+    @JsonRawValue
+    private String payload;
+
+    public CatalogChangeDTO(CatalogChange entity) {
+        this.id = entity.getId();
+        this.entityType = entity.getEntityType();
+        this.entityId = entity.getEntityId();
+        this.type = entity.getType();
+        this.occurredAt = entity.getOccurredAt();
+        this.payload = entity.getPayload();
+    }
+}
@@ -0,0 +1,19 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@Getter
+public class CategoryStatsDTO {
+
+    private final Long categoryId;
+    private final long productCount;
+    private final Double minPrice;
+    private final Double maxPrice;
+    private final Double avgPrice;
+    private final Instant latestProductDate;
+
+}
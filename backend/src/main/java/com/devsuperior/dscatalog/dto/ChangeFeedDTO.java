@@ -0,0 +1,21 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One poll of the change feed; {@code next} is the {@code since} value for the following poll.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ChangeFeedDTO {
+
+    private List<CatalogChangeDTO> content;
+    private long next;
+    private boolean hasMore;
+
+}
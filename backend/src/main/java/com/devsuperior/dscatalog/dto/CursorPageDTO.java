@@ -0,0 +1,18 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+
+}
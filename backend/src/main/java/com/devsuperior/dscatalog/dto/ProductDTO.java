@@ -2,6 +2,7 @@ package com.devsuperior.dscatalog.dto;
 
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.entities.ProductListing;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -21,6 +22,8 @@ public class ProductDTO {
     private String description;
     private Double price;
     private String imgUrl;
+    private String thumbnailUrl;
+    private String mediumUrl;
     private Instant date;
 
     private List<CategoryDTO> categories = new ArrayList<>();
@@ -31,6 +34,8 @@ public class ProductDTO {
         this.description = entity.getDescription();
         this.price = entity.getPrice();
         this.imgUrl = entity.getImgUrl();
+        this.thumbnailUrl = entity.getThumbnailUrl();
+        this.mediumUrl = entity.getMediumUrl();
         this.date = entity.getDate();
     }
 
@@ -39,6 +44,16 @@ public class ProductDTO {
         categories.forEach(category -> this.categories.add(new CategoryDTO(category)));
     }
 
-
+    public ProductDTO(ProductListing listing, List<CategoryDTO> categories) {
+        this.id = listing.getId();
+        this.name = listing.getName();
+        this.description = listing.getDescription();
+        this.price = listing.getPrice();
+        this.imgUrl = listing.getImgUrl();
+        this.thumbnailUrl = listing.getThumbnailUrl();
+        this.mediumUrl = listing.getMediumUrl();
+        this.date = listing.getDate();
+        this.categories = categories;
+    }
 
 }
@@ -0,0 +1,36 @@
+package com.devsuperior.dscatalog.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A product list entry carrying only the optional fields named in {@code fields=}. A requested
+ * field is written even when its value is null; a field that was not requested is left out.
+ */
+public class ProductFieldsDTO extends ProductSummaryDTO {
+
+    @Getter
+    private String mediumUrl;
+
+    private final Map<String, Object> optionalFields = new LinkedHashMap<>();
+
+    public ProductFieldsDTO(Long id, String name, Double price, String imgUrl, String thumbnailUrl, String mediumUrl,
+                            Instant date) {
+        super(id, name, price, imgUrl, thumbnailUrl, date);
+        this.mediumUrl = mediumUrl;
+    }
+
+    public void putOptionalField(String name, Object value) {
+        optionalFields.put(name, value);
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getOptionalFields() {
+        return optionalFields;
+    }
+
+}
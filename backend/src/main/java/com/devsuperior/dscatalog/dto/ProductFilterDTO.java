@@ -0,0 +1,29 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+public class ProductFilterDTO {
+
+    private List<Long> categoryId;
+    private Double minPrice;
+    private Double maxPrice;
+    private Instant minDate;
+    private Instant maxDate;
+
+    public boolean isEmpty() {
+        return (categoryId == null || categoryId.isEmpty()) && minPrice == null && maxPrice == null
+                && minDate == null && maxDate == null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ProductImageDTO {
+
+    private Long id;
+    private String imgUrl;
+
+}
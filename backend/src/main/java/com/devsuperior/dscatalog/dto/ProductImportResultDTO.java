@@ -0,0 +1,19 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@Getter
+@Setter
+public class ProductImportResultDTO {
+
+    private long received;
+    private long imported;
+    private List<ProductImportErrorDTO> errors = new ArrayList<>();
+
+}
@@ -0,0 +1,17 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ProductLookupDTO {
+
+    private List<ProductDTO> content;
+    private List<Long> missing;
+
+}
@@ -0,0 +1,28 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Partial update of a product: every field left null is kept as it is, and categories are only
+ * touched when the list is present.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPatchDTO {
+
+    private String name;
+    private String description;
+    private Double price;
+    private String imgUrl;
+    private Instant date;
+    private List<CategoryDTO> categories;
+
+}
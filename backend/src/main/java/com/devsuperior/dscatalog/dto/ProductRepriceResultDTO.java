@@ -0,0 +1,18 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@Getter
+@Setter
+public class ProductRepriceResultDTO {
+
+    private long affected;
+    private List<Long> missing = new ArrayList<>();
+
+}
@@ -0,0 +1,21 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * One product/category link as read by the category stats recompute; {@code categoryId} is null
+ * for products without categories.
+ */
+@AllArgsConstructor
+@Getter
+public class ProductStatsRowDTO {
+
+    private final Long productId;
+    private final Double price;
+    private final Instant date;
+    private final Long categoryId;
+
+}
@@ -0,0 +1,21 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ProductSummaryDTO {
+
+    private Long id;
+    private String name;
+    private Double price;
+    private String imgUrl;
+    private String thumbnailUrl;
+    private Instant date;
+
+}
@@ -0,0 +1,90 @@
+package com.devsuperior.dscatalog.dto;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Cheap aggregate of row count, versions and modification dates for one resource or a small
+ * table, read before any DTO is built so conditional GETs can be answered with 304. Large
+ * collections set only the versions, from a maintained counter.
+ */
+@Getter
+public class ResourceStampDTO {
+
+    public static final String STRONG_ETAG_HEADER = "Strong-ETag";
+
+    private final long count;
+    private final long versions;
+    private final Instant createdDate;
+    private final Instant updatedDate;
+    private final Instant relatedUpdatedDate;
+
+    public ResourceStampDTO(Long count, Long versions, Instant createdDate, Instant updatedDate,
+                            Instant relatedUpdatedDate) {
+        this.count = count == null ? 0 : count;
+        this.versions = versions == null ? 0 : versions;
+        this.createdDate = createdDate;
+        this.updatedDate = updatedDate;
+        this.relatedUpdatedDate = relatedUpdatedDate;
+    }
+
+    public ResourceStampDTO(Long count, Instant createdDate, Instant updatedDate) {
+        this(count, null, createdDate, updatedDate, null);
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Weak tag for conditional GETs. JSON, CBOR and Smile renderings of the same state share it,
+     * and compressing a response leaves it unchanged, so it never serves If-Match.
+     */
+    public String getETag() {
+        return "W/\"" + ownPart() + "-" + micros(relatedUpdatedDate) + "\"";
+    }
+
+    /**
+     * Strong validator for writes, sent in {@link #STRONG_ETAG_HEADER}. It covers only the
+     * resource's own columns, so renaming a category does not fail a precondition on the
+     * products that embed it.
+     */
+    public String getStrongETag() {
+        return "\"" + ownPart() + "\"";
+    }
+
+    /**
+     * Strong comparison against {@link #getStrongETag()} as If-Match requires: weak tags never match.
+     */
+    public boolean matches(String ifMatch) {
+        String eTag = getStrongETag();
+        return candidates(ifMatch).anyMatch(candidate -> candidate.equals("*") || candidate.equals(eTag));
+    }
+
+    /**
+     * Only meaningful for a single resource: deleting a row does not move any of the dates, so
+     * collections are validated by ETag alone.
+     */
+    public long getLastModified() {
+        return Stream.of(createdDate, updatedDate, relatedUpdatedDate)
+                .filter(Objects::nonNull)
+                .mapToLong(Instant::toEpochMilli)
+                .max()
+                .orElse(-1);
+    }
+
+    private String ownPart() {
+        return count + "-" + versions + "-" + micros(createdDate) + "-" + micros(updatedDate);
+    }
+
+    private static Stream<String> candidates(String ifMatch) {
+        return Stream.of(ifMatch.split(",")).map(String::trim);
+    }
+
+    private static long micros(Instant date) {
+        return date == null ? 0 : date.getEpochSecond() * 1_000_000 + date.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,40 @@
+package com.devsuperior.dscatalog.entities;
+
+import com.devsuperior.dscatalog.events.ChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Append-only change history. Rows are written in batches by {@code ChangeLogWriter} through
+ * JDBC; the mapping only serves reads and schema generation.
+ */
+@Entity
+@Table(name = "catalog_change")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CatalogChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String entityType;
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeType type;
+
+    private Instant occurredAt;
+
+    /**
+     * Database time of the writing transaction; the feed only serves rows old enough to be committed.
+     */
+    private Instant writtenAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+}
@@ -0,0 +1,27 @@
+package com.devsuperior.dscatalog.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A counter bumped once by every transaction that changes what it names, so a collection can be
+ * validated by reading one row instead of aggregating over the whole table.
+ */
+@Entity
+@Table(name = "catalog_version")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CatalogVersion {
+
+    @Id
+    private String name;
+    private long version;
+
+}
@@ -0,0 +1,7 @@
+package com.devsuperior.dscatalog.entities;
+
+public enum ImageStatus {
+    PENDING,
+    RENDERED,
+    FAILED
+}
@@ -2,13 +2,22 @@ package com.devsuperior.dscatalog.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "product")
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_name_id", columnList = "name, id"),
+        @Index(name = "idx_product_price_id", columnList = "price, id"),
+        @Index(name = "idx_product_date", columnList = "date"),
+        @Index(name = "idx_product_img_status", columnList = "imgStatus")
+})
+@DynamicUpdate
 @NoArgsConstructor
 @Getter
 @Setter
@@ -16,7 +25,8 @@ import java.util.Set;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
     private String name;
 
@@ -24,14 +34,34 @@ public class Product {
     private String description;
     private Double price;
     private String imgUrl;
+    private Integer imgWidth;
+    private Integer imgHeight;
+
+    @Enumerated(EnumType.STRING)
+    private ImageStatus imgStatus;
+    private String thumbnailUrl;
+    private String mediumUrl;
 
     @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
     private Instant date;
 
+    @Version
+    private Integer version;
+
+    @Setter(AccessLevel.NONE)
+    @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+    private Instant createdDate;
+
+    @Setter(AccessLevel.NONE)
+    @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+    private Instant updatedDate;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-categories")
     @JoinTable(name = "product_category",
             joinColumns = @JoinColumn(name = "product_id"),
-            inverseJoinColumns = @JoinColumn(name = "category_id"))
+            inverseJoinColumns = @JoinColumn(name = "category_id"),
+            indexes = @Index(name = "idx_product_category_category", columnList = "category_id, product_id"))
     @Setter(AccessLevel.NONE)
     private Set<Category> categories = new HashSet<>();
 
@@ -43,4 +73,14 @@ public class Product {
         this.imgUrl = imgUrl;
         this.date = date;
     }
+
+    @PrePersist
+    public void prePersist(){
+        this.createdDate = Instant.now();
+    }
+
+    @PreUpdate
+    public void preUpdate(){
+        this.updatedDate = Instant.now();
+    }
 }
@@ -0,0 +1,48 @@
+package com.devsuperior.dscatalog.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.Instant;
+
+/**
+ * Denormalized copy of a product and its categories in a single row, maintained by
+ * {@code ProductListingService} and read by the product listing without loading products or
+ * categories. Category filters match through the indexed product_category table.
+ */
+@Entity
+@Table(name = "product_listing", indexes = {
+        @Index(name = "idx_product_listing_price", columnList = "price"),
+        @Index(name = "idx_product_listing_date", columnList = "date")
+})
+@DynamicUpdate
+@NoArgsConstructor
+@Getter
+@Setter
+public class ProductListing {
+
+    @Id
+    private Long id;
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+    private Double price;
+    private String imgUrl;
+    private String thumbnailUrl;
+    private String mediumUrl;
+
+    @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+    private Instant date;
+
+    // JSON array of CategoryDTO
+    @Column(columnDefinition = "TEXT")
+    private String categories;
+
+    public ProductListing(Long id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,29 @@
+package com.devsuperior.dscatalog.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@code CategoryService} whenever a category is written. {@code name} is null for
+ * deletions.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+
+    private final ChangeType type;
+    private final Long categoryId;
+    private final String name;
+
+    public static CategoryChangedEvent inserted(Long categoryId, String name) {
+        return new CategoryChangedEvent(ChangeType.INSERTED, categoryId, name);
+    }
+
+    public static CategoryChangedEvent updated(Long categoryId, String name) {
+        return new CategoryChangedEvent(ChangeType.UPDATED, categoryId, name);
+    }
+
+    public static CategoryChangedEvent deleted(Long categoryId) {
+        return new CategoryChangedEvent(ChangeType.DELETED, categoryId, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.devsuperior.dscatalog.events;
+
+public enum ChangeType {
+    INSERTED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,31 @@
+package com.devsuperior.dscatalog.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the service layer whenever a product is written. {@code product} holds the
+ * new state and is null for deletions; {@code previous} holds the state before an update when
+ * the publisher has it, so listeners can write only what changed.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    private final ChangeType type;
+    private final Long productId;
+    private final ProductSnapshot product;
+    private final ProductSnapshot previous;
+
+    public static ProductChangedEvent inserted(ProductSnapshot product) {
+        return new ProductChangedEvent(ChangeType.INSERTED, product.getId(), product, null);
+    }
+
+    public static ProductChangedEvent updated(ProductSnapshot previous, ProductSnapshot product) {
+        return new ProductChangedEvent(ChangeType.UPDATED, product.getId(), product, previous);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(ChangeType.DELETED, productId, null, null);
+    }
+}
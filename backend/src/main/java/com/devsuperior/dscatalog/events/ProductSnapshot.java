@@ -0,0 +1,38 @@
+package com.devsuperior.dscatalog.events;
+
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable copy of a product's state taken inside the writing transaction, so listeners
+ * running after commit never touch a detached entity or its lazy categories.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductSnapshot {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Double price;
+    private final String imgUrl;
+    private final String thumbnailUrl;
+    private final String mediumUrl;
+    private final Instant date;
+    private final Set<Long> categoryIds;
+
+    public static ProductSnapshot of(Product product) {
+        Set<Long> categoryIds = product.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        return new ProductSnapshot(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getImgUrl(), product.getThumbnailUrl(), product.getMediumUrl(),
+                product.getDate(), categoryIds);
+    }
+}
@@ -0,0 +1,18 @@
+package com.devsuperior.dscatalog.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published once per committed chunk of a bulk price update. Those updates bypass the entity
+ * layer, so only the ids are known; listeners that need the new prices must read them back.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductsRepricedEvent {
+
+    private final List<Long> productIds;
+
+}
@@ -0,0 +1,9 @@
+package com.devsuperior.dscatalog.exceptions;
+
+public class InvalidRequestException extends RuntimeException{
+
+    public InvalidRequestException(String message){
+        super(message);
+    }
+
+}
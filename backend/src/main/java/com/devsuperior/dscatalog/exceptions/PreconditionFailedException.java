@@ -0,0 +1,9 @@
+package com.devsuperior.dscatalog.exceptions;
+
+public class PreconditionFailedException extends RuntimeException{
+
+    public PreconditionFailedException(String message){
+        super(message);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.entities.CatalogChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    /**
+     * Settles against the database clock, the same one {@code ChangeLogWriter} stamps rows with.
+     */
+    @Query("SELECT obj FROM CatalogChange obj WHERE obj.id > :id " +
+            "AND obj.writtenAt <= CURRENT_TIMESTAMP - :settleTime ORDER BY obj.id")
+    Slice<CatalogChange> findSettledAfter(Long id, Duration settleTime, Pageable pageable);
+
+}
@@ -0,0 +1,20 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.entities.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, String> {
+
+    @Query("SELECT obj.version FROM CatalogVersion obj WHERE obj.name = :name")
+    Optional<Long> findVersion(String name);
+
+    @Modifying
+    @Query("UPDATE CatalogVersion obj SET obj.version = obj.version + 1 WHERE obj.name = :name")
+    int increment(String name);
+}
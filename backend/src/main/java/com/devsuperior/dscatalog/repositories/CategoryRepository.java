@@ -1,10 +1,70 @@
 package com.devsuperior.dscatalog.repositories;
 
 
+import com.devsuperior.dscatalog.dto.ResourceStampDTO;
 import com.devsuperior.dscatalog.entities.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Set;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")
+    })
+    Page<Category> findAll(Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")
+    })
+    @Query("SELECT obj.id FROM Category obj")
+    Set<Long> findAllIds();
+
+    @Query("SELECT new com.devsuperior.dscatalog.dto.ResourceStampDTO(COUNT(obj), SUM(obj.version), " +
+            "MAX(obj.createdDate), MAX(obj.updatedDate), NULL) FROM Category obj WHERE obj.id = :id")
+    ResourceStampDTO findStampById(Long id);
+
+    @Query("SELECT new com.devsuperior.dscatalog.dto.ResourceStampDTO(COUNT(obj), SUM(obj.version), " +
+            "MAX(obj.createdDate), MAX(obj.updatedDate), NULL) FROM Category obj")
+    ResourceStampDTO findStamp();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")
+    })
+    Slice<Category> findAllBy(Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")
+    })
+    @Query("SELECT obj FROM Category obj WHERE obj.id > :id ORDER BY obj.id")
+    Slice<Category> findByIdAfter(Long id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")
+    })
+    @Query("SELECT obj FROM Category obj WHERE obj.name > :name OR (obj.name = :name AND obj.id > :id) " +
+            "ORDER BY obj.name NULLS FIRST, obj.id")
+    Slice<Category> findByNameAfter(String name, Long id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")
+    })
+    @Query("SELECT obj FROM Category obj WHERE obj.name IS NOT NULL OR obj.id > :id " +
+            "ORDER BY obj.name NULLS FIRST, obj.id")
+    Slice<Category> findByNullNameAfter(Long id, Pageable pageable);
 }
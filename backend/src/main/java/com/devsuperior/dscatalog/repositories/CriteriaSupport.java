@@ -0,0 +1,48 @@
+package com.devsuperior.dscatalog.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Predicate, ordering and count helpers for the criteria projections in the repository fragments.
+ */
+final class CriteriaSupport {
+
+    private CriteriaSupport() {
+    }
+
+    static <T> void applyPredicate(Specification<T> spec, Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    static <T> List<Order> toOrders(Sort sort, Root<T> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(order.isAscending()
+                    ? cb.asc(root.get(order.getProperty()))
+                    : cb.desc(root.get(order.getProperty())));
+        }
+        return orders;
+    }
+
+    static <T> long count(EntityManager entityManager, Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        query.select(cb.count(root));
+        applyPredicate(spec, root, query, cb);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,25 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.entities.ProductListing;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductListingRepository extends JpaRepository<ProductListing, Long>,
+        JpaSpecificationExecutor<ProductListing>, ProductListingRepositoryCustom {
+
+    @Query("SELECT obj FROM ProductListing obj WHERE obj.id IN " +
+            "(SELECT p.id FROM Product p JOIN p.categories c WHERE c.id = :categoryId)")
+    List<ProductListing> findByCategoryId(Long categoryId);
+
+    @Modifying
+    @Query("UPDATE ProductListing obj SET obj.price = (SELECT p.price FROM Product p WHERE p.id = obj.id) " +
+            "WHERE obj.id IN :ids")
+    int refreshPrices(Collection<Long> ids);
+}
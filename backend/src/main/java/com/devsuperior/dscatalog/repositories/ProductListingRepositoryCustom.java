@@ -0,0 +1,18 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.entities.ProductListing;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+public interface ProductListingRepositoryCustom {
+
+    /**
+     * Pages listing rows as tuples of the summary columns plus {@code optionalColumns}, each
+     * aliased by its attribute name, so columns that were not asked for are never read.
+     */
+    Page<Tuple> findColumns(Specification<ProductListing> spec, Collection<String> optionalColumns, Pageable pageable);
+}
@@ -0,0 +1,51 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.entities.ProductListing;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class ProductListingRepositoryCustomImpl implements ProductListingRepositoryCustom {
+
+    private static final List<String> SUMMARY_COLUMNS =
+            List.of("id", "name", "price", "imgUrl", "thumbnailUrl", "mediumUrl", "date");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Tuple> findColumns(Specification<ProductListing> spec, Collection<String> optionalColumns,
+                                   Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ProductListing> root = query.from(ProductListing.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        SUMMARY_COLUMNS.forEach(column -> selections.add(root.get(column).alias(column)));
+        optionalColumns.forEach(column -> selections.add(root.get(column).alias(column)));
+        query.multiselect(selections);
+        CriteriaSupport.applyPredicate(spec, root, query, cb);
+        query.orderBy(CriteriaSupport.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable,
+                () -> CriteriaSupport.count(entityManager, ProductListing.class, spec));
+    }
+}
@@ -1,10 +1,86 @@
 package com.devsuperior.dscatalog.repositories;
 
 
+import com.devsuperior.dscatalog.dto.ProductImageDTO;
+import com.devsuperior.dscatalog.dto.ProductPriceDTO;
+import com.devsuperior.dscatalog.dto.ProductStatsRowDTO;
+import com.devsuperior.dscatalog.dto.ResourceStampDTO;
+import com.devsuperior.dscatalog.entities.ImageStatus;
 import com.devsuperior.dscatalog.entities.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
+
+    @EntityGraph(attributePaths = "categories")
+    Optional<Product> findById(Long id);
+
+    @Query("SELECT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id IN :ids")
+    List<Product> findProductsWithCategories(Collection<Long> ids);
+
+    @Query("SELECT new com.devsuperior.dscatalog.dto.ResourceStampDTO(COUNT(obj), SUM(obj.version), " +
+            "MAX(obj.createdDate), MAX(obj.updatedDate), (SELECT MAX(c.updatedDate) FROM Category c)) " +
+            "FROM Product obj WHERE obj.id = :id")
+    ResourceStampDTO findStampById(Long id);
+
+    @Query("SELECT new com.devsuperior.dscatalog.dto.ResourceStampDTO(COUNT(obj), SUM(obj.version), " +
+            "MAX(obj.createdDate), MAX(obj.updatedDate), (SELECT MAX(c.updatedDate) FROM Category c)) " +
+            "FROM Product obj WHERE obj.id IN :ids")
+    ResourceStampDTO findStampByIds(Collection<Long> ids);
+
+    Slice<Product> findAllBy(Pageable pageable);
+
+    @Query("SELECT obj FROM Product obj WHERE obj.id > :id ORDER BY obj.id")
+    Slice<Product> findByIdAfter(Long id, Pageable pageable);
+
+    @Query("SELECT obj FROM Product obj WHERE (obj.name, obj.id) > (:name, :id) " +
+            "ORDER BY obj.name NULLS FIRST, obj.id")
+    Slice<Product> findByNameAfter(String name, Long id, Pageable pageable);
+
+    @Query("SELECT obj FROM Product obj WHERE obj.name IS NOT NULL OR obj.id > :id " +
+            "ORDER BY obj.name NULLS FIRST, obj.id")
+    Slice<Product> findByNullNameAfter(Long id, Pageable pageable);
+
+    @Query("SELECT obj FROM Product obj WHERE (obj.price, obj.id) > (:price, :id) " +
+            "ORDER BY obj.price NULLS FIRST, obj.id")
+    Slice<Product> findByPriceAfter(Double price, Long id, Pageable pageable);
+
+    @Query("SELECT obj FROM Product obj WHERE obj.price IS NOT NULL OR obj.id > :id " +
+            "ORDER BY obj.price NULLS FIRST, obj.id")
+    Slice<Product> findByNullPriceAfter(Long id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT obj FROM Product obj ORDER BY obj.id")
+    Stream<Product> streamAll();
+
+    @Query("SELECT new com.devsuperior.dscatalog.dto.ProductPriceDTO(obj.id, obj.price) FROM Product obj " +
+            "WHERE obj.id IN :ids")
+    List<ProductPriceDTO> findPrices(Collection<Long> ids);
+
+    @Query("SELECT new com.devsuperior.dscatalog.dto.ProductImageDTO(obj.id, obj.imgUrl) FROM Product obj " +
+            "WHERE obj.imgStatus = :status")
+    List<ProductImageDTO> findImagesByStatus(ImageStatus status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.devsuperior.dscatalog.dto.ProductStatsRowDTO(obj.id, obj.price, obj.date, c.id) " +
+            "FROM Product obj LEFT JOIN obj.categories c ORDER BY obj.id")
+    Stream<ProductStatsRowDTO> streamStatsRows();
 }
@@ -0,0 +1,16 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Pages products as {@link ProductSummaryDTO} constructor projections, so list pages
+     * never read the description column or materialize entities.
+     */
+    Page<ProductSummaryDTO> findSummaries(Specification<Product> spec, Pageable pageable);
+}
@@ -0,0 +1,41 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProductSummaryDTO> findSummaries(Specification<Product> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<ProductSummaryDTO> query = cb.createQuery(ProductSummaryDTO.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductSummaryDTO.class,
+                root.get("id"), root.get("name"), root.get("price"), root.get("imgUrl"), root.get("thumbnailUrl"),
+                root.get("date")));
+        CriteriaSupport.applyPredicate(spec, root, query, cb);
+        query.orderBy(CriteriaSupport.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<ProductSummaryDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable,
+                () -> CriteriaSupport.count(entityManager, Product.class, spec));
+    }
+}
@@ -0,0 +1,100 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.entities.ProductListing;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Filters shared by the product table and the {@link ProductListing} read model, which carry
+ * the same price and date columns and the same ids.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> matching(ProductFilterDTO filter) {
+        return matching(filter, ProductSpecifications::inCategories);
+    }
+
+    public static Specification<ProductListing> matchingListing(ProductFilterDTO filter) {
+        return matching(filter, ProductSpecifications::listingInCategories);
+    }
+
+    private static <T> Specification<T> matching(ProductFilterDTO filter,
+                                                 Function<Collection<Long>, Specification<T>> inCategories) {
+        List<Specification<T>> specs = new ArrayList<>();
+        if (filter.getCategoryId() != null && !filter.getCategoryId().isEmpty()) {
+            specs.add(inCategories.apply(filter.getCategoryId()));
+        }
+        if (filter.getMinPrice() != null) {
+            specs.add(priceAtLeast(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            specs.add(priceAtMost(filter.getMaxPrice()));
+        }
+        if (filter.getMinDate() != null) {
+            specs.add(dateFrom(filter.getMinDate()));
+        }
+        if (filter.getMaxDate() != null) {
+            specs.add(dateUntil(filter.getMaxDate()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * EXISTS over product_category rather than a join, so a product in several of the
+     * requested categories is returned once and the count query needs no DISTINCT.
+     */
+    public static Specification<Product> inCategories(Collection<Long> categoryIds) {
+        return (root, query, cb) -> {
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<Product> product = sub.correlate(root);
+            Join<Product, Category> category = product.join("categories");
+            sub.select(category.get("id")).where(category.get("id").in(categoryIds));
+            return cb.exists(sub);
+        };
+    }
+
+    /**
+     * The same EXISTS for listing rows, matched to product_category by id, so the filter is
+     * driven by the (category_id, product_id) index.
+     */
+    public static Specification<ProductListing> listingInCategories(Collection<Long> categoryIds) {
+        return (root, query, cb) -> {
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<Product> product = sub.from(Product.class);
+            Join<Product, Category> category = product.join("categories");
+            sub.select(category.get("id")).where(cb.equal(product.get("id"), root.get("id")),
+                    category.get("id").in(categoryIds));
+            return cb.exists(sub);
+        };
+    }
+
+    public static <T> Specification<T> priceAtLeast(Double price) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), price);
+    }
+
+    public static <T> Specification<T> priceAtMost(Double price) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), price);
+    }
+
+    public static <T> Specification<T> dateFrom(Instant date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), date);
+    }
+
+    public static <T> Specification<T> dateUntil(Instant date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("date"), date);
+    }
+}
@@ -0,0 +1,74 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.entities.CatalogVersion;
+import com.devsuperior.dscatalog.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.events.ProductsRepricedEvent;
+import com.devsuperior.dscatalog.repositories.CatalogVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains the version of the product catalog, the validator behind the product collection
+ * ETags. The listeners run inside the writing transaction and bump the row once, just before it
+ * commits, so a bulk import of many products costs one update and the row lock is held only
+ * for the commit. Category changes count too, since products embed their category names.
+ * Writes made outside the application do not move the version.
+ */
+@Service
+public class CatalogVersionService {
+
+    static final String PRODUCTS = "products";
+
+    @Autowired
+    private CatalogVersionRepository repository;
+
+    @Transactional(readOnly = true)
+    public long findProductsVersion() {
+        return repository.findVersion(PRODUCTS).orElse(0L);
+    }
+
+    @EventListener
+    @Transactional
+    public void onProductChanged(ProductChangedEvent event) {
+        incrementOnCommit();
+    }
+
+    @EventListener
+    @Transactional
+    public void onProductsRepriced(ProductsRepricedEvent event) {
+        incrementOnCommit();
+    }
+
+    @EventListener
+    @Transactional
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        incrementOnCommit();
+    }
+
+    private void incrementOnCommit() {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, PRODUCTS);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (repository.increment(PRODUCTS) == 0) {
+                    repository.saveAndFlush(new CatalogVersion(PRODUCTS, 1));
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(CatalogVersionService.this);
+            }
+        });
+    }
+
+}
@@ -1,66 +1,182 @@
 package com.devsuperior.dscatalog.services;
 
+import com.devsuperior.dscatalog.config.CacheConfig;
+import com.devsuperior.dscatalog.config.Coalesced;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.dto.ResourceStampDTO;
 import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.events.CategoryChangedEvent;
 import com.devsuperior.dscatalog.exceptions.DataBaseException;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.exceptions.PreconditionFailedException;
 import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Service
 public class CategoryService {
 
+    private static final Set<String> CURSOR_SORT_KEYS = Set.of("id", "name");
+
     @Autowired
     private CategoryRepository repository;
 
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Cacheable(CacheConfig.CATEGORY_PAGES)
     @Transactional(readOnly = true)
     public Page<CategoryDTO> findAllPaged(Pageable pageRequest) {
         Page<Category> categories = repository.findAll(pageRequest);
-        return categories.map(CategoryDTO::new);
+        return mapped(() -> categories.map(CategoryDTO::new));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CategoryDTO> findAllByCursor(String token, String sort, int size) {
+        if (size < 1 || size > Cursor.MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Cursor page size must be between 1 and " + Cursor.MAX_PAGE_SIZE);
+        }
+        Cursor cursor = token == null || token.isBlank()
+                ? Cursor.first(sort, CURSOR_SORT_KEYS)
+                : Cursor.decode(token, CURSOR_SORT_KEYS);
+        Slice<Category> slice = findSlice(cursor, size);
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Category last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            Object value = cursor.getSort().equals("name") ? last.getName() : last.getId();
+            nextCursor = Cursor.after(cursor.getSort(), last.getId(), value).encode();
+        }
+        List<CategoryDTO> content = mapped(() -> slice.map(CategoryDTO::new).getContent());
+        return new CursorPageDTO<>(content, size, nextCursor);
     }
 
+    @Transactional(readOnly = true)
+    public ResourceStampDTO findStamp() {
+        return repository.findStamp();
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceStampDTO findStampById(Long id) {
+        ResourceStampDTO stamp = repository.findStampById(id);
+        if (stamp.isEmpty()) {
+            throw new ResourceNotFoundException("Category with id " + id + " not found!");
+        }
+        return stamp;
+    }
+
+    @Coalesced
+    @Cacheable(CacheConfig.CATEGORIES)
     @Transactional(readOnly = true)
     public CategoryDTO findById(Long id) {
         Optional<Category> category = repository.findById(id);
         Category entity = category.orElseThrow(() -> new ResourceNotFoundException("Category with id " + id + " not found!"));
-        return new CategoryDTO(entity);
+        return mapped(() -> new CategoryDTO(entity));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true)
     @Transactional
     public CategoryDTO insert(CategoryDTO dto) {
         Category category = new Category();
         category.setName(dto.getName());
-        return new CategoryDTO(repository.save(category));
+        category = repository.save(category);
+        publisher.publishEvent(CategoryChangedEvent.inserted(category.getId(), category.getName()));
+        return new CategoryDTO(category);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true)
+    })
     @Transactional
     public CategoryDTO update(Long id, CategoryDTO dto) {
-        try {
-            Category category = repository.getReferenceById(id);
-            category.setName(dto.getName());
-            return new CategoryDTO(repository.save(category));
-        } catch (EntityNotFoundException e) {
-            throw new ResourceNotFoundException("Id not found: " + id);
-        }
+        return apply(id, dto, null);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true)
+    })
+    @Transactional
+    public CategoryDTO update(Long id, CategoryDTO dto, long expectedVersion) {
+        return apply(id, dto, expectedVersion);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true)
+    })
+    @Transactional
     public void delete(Long id) {
         var entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Id not found: " + id));
 
         try {
             repository.delete(entity);
+            repository.flush();
+            publisher.publishEvent(CategoryChangedEvent.deleted(id));
         } catch (DataIntegrityViolationException e) {
             throw new DataBaseException("Integrity violation");
         }
     }
 
+    private CategoryDTO apply(Long id, CategoryDTO dto, Long expectedVersion) {
+        try {
+            Category category = repository.getReferenceById(id);
+            if (expectedVersion != null && category.getVersion() != expectedVersion.longValue()) {
+                throw new PreconditionFailedException("Category with id " + id + " was modified concurrently");
+            }
+            category.setName(dto.getName());
+            category = repository.save(category);
+            publisher.publishEvent(CategoryChangedEvent.updated(category.getId(), category.getName()));
+            return new CategoryDTO(category);
+        } catch (EntityNotFoundException e) {
+            throw new ResourceNotFoundException("Id not found: " + id);
+        }
+    }
+
+    private <T> T mapped(Supplier<T> mapping) {
+        return Timer.builder("catalog.mapping").tag("dto", "CategoryDTO").register(meterRegistry).record(mapping);
+    }
+
+    private Slice<Category> findSlice(Cursor cursor, int size) {
+        if (cursor.isFirst()) {
+            Sort sort = cursor.getSort().equals("id")
+                    ? Sort.by("id")
+                    : Sort.by(Sort.Order.asc(cursor.getSort()).nullsFirst(), Sort.Order.asc("id"));
+            return repository.findAllBy(PageRequest.of(0, size, sort));
+        }
+        Pageable limit = PageRequest.of(0, size);
+        if (cursor.getSort().equals("name")) {
+            return cursor.getValue() == null
+                    ? repository.findByNullNameAfter(cursor.getId(), limit)
+                    : repository.findByNameAfter(cursor.getValue(), cursor.getId(), limit);
+        }
+        return repository.findByIdAfter(cursor.getId(), limit);
+    }
+
 }
@@ -0,0 +1,198 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryStatsDTO;
+import com.devsuperior.dscatalog.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.events.ChangeType;
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Per-category product count, price range, average price and latest product date, maintained
+ * incrementally from product and category events after commit. Every write republishes an
+ * immutable map of {@link CategoryStatsDTO}s, so reads are a single lookup without locking.
+ */
+@Component
+public class CategoryStatsIndex {
+
+    private volatile Map<Long, CategoryStatsDTO> snapshots = Map.of();
+    private Aggregates aggregates = new Aggregates();
+    private List<Consumer<Aggregates>> pendingDuringRebuild;
+
+    public CategoryStatsDTO get(Long categoryId) {
+        return snapshots.get(categoryId);
+    }
+
+    public List<CategoryStatsDTO> getAll() {
+        return snapshots.values().stream()
+                .sorted(Comparator.comparing(CategoryStatsDTO::getCategoryId))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            update(aggregates -> aggregates.removeProduct(event.getProductId()));
+        } else {
+            update(aggregates -> aggregates.putProduct(event.getProductId(), event.getProduct().getPrice(),
+                    event.getProduct().getDate(), event.getProduct().getCategoryIds()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            update(aggregates -> aggregates.removeCategory(event.getCategoryId()));
+        } else {
+            update(aggregates -> aggregates.addCategory(event.getCategoryId()));
+        }
+    }
+
+    public void reprice(Map<Long, Double> prices) {
+        update(aggregates -> prices.forEach(aggregates::reprice));
+    }
+
+    /**
+     * Starts collecting live changes so they can be replayed on top of recomputed aggregates.
+     */
+    public synchronized Aggregates beginRebuild() {
+        pendingDuringRebuild = new ArrayList<>();
+        return new Aggregates();
+    }
+
+    public synchronized void finishRebuild(Aggregates rebuilt) {
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.forEach(mutation -> mutation.accept(rebuilt));
+        }
+        aggregates = rebuilt;
+        pendingDuringRebuild = null;
+        Map<Long, CategoryStatsDTO> next = new HashMap<>();
+        rebuilt.categories.forEach((id, aggregate) -> next.put(id, aggregate.toDto(id)));
+        rebuilt.dirty.clear();
+        snapshots = Collections.unmodifiableMap(next);
+    }
+
+    private synchronized void update(Consumer<Aggregates> mutation) {
+        mutation.accept(aggregates);
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(mutation);
+        }
+        Map<Long, CategoryStatsDTO> next = new HashMap<>(snapshots);
+        for (Long id : aggregates.dirty) {
+            Aggregate aggregate = aggregates.categories.get(id);
+            if (aggregate == null) {
+                next.remove(id);
+            } else {
+                next.put(id, aggregate.toDto(id));
+            }
+        }
+        aggregates.dirty.clear();
+        snapshots = Collections.unmodifiableMap(next);
+    }
+
+    public static class Aggregates {
+
+        private final Map<Long, Entry> products = new HashMap<>();
+        private final Map<Long, Aggregate> categories = new HashMap<>();
+        private final Set<Long> dirty = new HashSet<>();
+
+        public void addCategory(Long categoryId) {
+            categories.computeIfAbsent(categoryId, id -> new Aggregate());
+            dirty.add(categoryId);
+        }
+
+        void removeCategory(Long categoryId) {
+            categories.remove(categoryId);
+            dirty.add(categoryId);
+        }
+
+        public void putProduct(Long productId, Double price, Instant date, Set<Long> categoryIds) {
+            removeProduct(productId);
+            Entry entry = new Entry(price, date, Set.copyOf(categoryIds));
+            products.put(productId, entry);
+            for (Long categoryId : entry.categoryIds()) {
+                categories.computeIfAbsent(categoryId, id -> new Aggregate()).add(entry);
+                dirty.add(categoryId);
+            }
+        }
+
+        void removeProduct(Long productId) {
+            Entry entry = products.remove(productId);
+            if (entry == null) {
+                return;
+            }
+            for (Long categoryId : entry.categoryIds()) {
+                Aggregate aggregate = categories.get(categoryId);
+                if (aggregate != null) {
+                    aggregate.remove(entry);
+                    dirty.add(categoryId);
+                }
+            }
+        }
+
+        void reprice(Long productId, Double price) {
+            Entry entry = products.get(productId);
+            if (entry != null) {
+                putProduct(productId, price, entry.date(), entry.categoryIds());
+            }
+        }
+    }
+
+    private record Entry(Double price, Instant date, Set<Long> categoryIds) {
+    }
+
+    // multisets of prices and dates, so min/max survive removals without a rescan
+    private static class Aggregate {
+
+        private final TreeMap<Double, Integer> prices = new TreeMap<>();
+        private final TreeMap<Instant, Integer> dates = new TreeMap<>();
+        private long count;
+        private long priced;
+        private double sum;
+
+        void add(Entry entry) {
+            count++;
+            if (entry.price() != null) {
+                priced++;
+                sum += entry.price();
+                prices.merge(entry.price(), 1, Integer::sum);
+            }
+            if (entry.date() != null) {
+                dates.merge(entry.date(), 1, Integer::sum);
+            }
+        }
+
+        void remove(Entry entry) {
+            count--;
+            if (entry.price() != null) {
+                priced--;
+                sum -= entry.price();
+                prices.computeIfPresent(entry.price(), (price, n) -> n == 1 ? null : n - 1);
+            }
+            if (entry.date() != null) {
+                dates.computeIfPresent(entry.date(), (date, n) -> n == 1 ? null : n - 1);
+            }
+        }
+
+        CategoryStatsDTO toDto(Long categoryId) {
+            return new CategoryStatsDTO(categoryId, count,
+                    prices.isEmpty() ? null : prices.firstKey(),
+                    prices.isEmpty() ? null : prices.lastKey(),
+                    priced == 0 ? null : sum / priced,
+                    dates.isEmpty() ? null : dates.lastKey());
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryStatsDTO;
+import com.devsuperior.dscatalog.dto.ProductPriceDTO;
+import com.devsuperior.dscatalog.dto.ProductStatsRowDTO;
+import com.devsuperior.dscatalog.events.ProductsRepricedEvent;
+import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Serves category facets from {@link CategoryStatsIndex}. The aggregates are recomputed from the
+ * database at startup and on {@code catalog.stats.recompute-cron}, which also corrects any
+ * floating-point drift in the running sums.
+ */
+@Service
+public class CategoryStatsService {
+
+    @Autowired
+    private CategoryStatsIndex index;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    public CategoryStatsDTO findById(Long categoryId) {
+        CategoryStatsDTO stats = index.get(categoryId);
+        if (stats == null) {
+            throw new ResourceNotFoundException("Category with id " + categoryId + " not found!");
+        }
+        return stats;
+    }
+
+    public List<CategoryStatsDTO> findAll() {
+        return index.getAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductsRepriced(ProductsRepricedEvent event) {
+        if (event.getProductIds().isEmpty()) {
+            return;
+        }
+        index.reprice(productRepository.findPrices(event.getProductIds()).stream()
+                .collect(Collectors.toMap(ProductPriceDTO::getId, ProductPriceDTO::getPrice)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${catalog.stats.recompute-cron}")
+    @Transactional(readOnly = true)
+    public void recompute() {
+        CategoryStatsIndex.Aggregates aggregates = index.beginRebuild();
+        categoryRepository.findAllIds().forEach(aggregates::addCategory);
+        try (Stream<ProductStatsRowDTO> rows = productRepository.streamStatsRows()) {
+            Iterator<ProductStatsRowDTO> iterator = rows.iterator();
+            ProductStatsRowDTO current = null;
+            Set<Long> categoryIds = new HashSet<>();
+            while (iterator.hasNext()) {
+                ProductStatsRowDTO row = iterator.next();
+                if (current != null && !current.getProductId().equals(row.getProductId())) {
+                    put(aggregates, current, categoryIds);
+                }
+                current = row;
+                if (row.getCategoryId() != null) {
+                    categoryIds.add(row.getCategoryId());
+                }
+            }
+            if (current != null) {
+                put(aggregates, current, categoryIds);
+            }
+        }
+        index.finishRebuild(aggregates);
+    }
+
+    private void put(CategoryStatsIndex.Aggregates aggregates, ProductStatsRowDTO product, Set<Long> categoryIds) {
+        aggregates.putProduct(product.getProductId(), product.getPrice(), product.getDate(), categoryIds);
+        categoryIds.clear();
+    }
+
+}
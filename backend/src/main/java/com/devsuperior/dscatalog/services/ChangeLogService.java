@@ -0,0 +1,44 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CatalogChangeDTO;
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.entities.CatalogChange;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.repositories.CatalogChangeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serves the change log by id. Ids are assigned before the writing transaction commits, so a
+ * row can become visible after a higher id has already been served; only rows written more than
+ * {@code catalog.changes.settle-time} ago by the database clock are returned, which is safe as long as change log
+ * transactions finish within half that time.
+ */
+@Service
+public class ChangeLogService {
+
+    @Autowired
+    private CatalogChangeRepository repository;
+
+    @Value("${catalog.changes.settle-time}")
+    private Duration settleTime;
+
+    @Transactional(readOnly = true)
+    public ChangeFeedDTO findSince(long since, int size) {
+        if (size < 1 || size > Cursor.MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + Cursor.MAX_PAGE_SIZE);
+        }
+        Slice<CatalogChange> slice = repository.findSettledAfter(since, settleTime, PageRequest.of(0, size));
+        List<CatalogChangeDTO> content = slice.map(CatalogChangeDTO::new).getContent();
+        long next = content.isEmpty() ? since : content.get(content.size() - 1).getId();
+        return new ChangeFeedDTO(content, next, slice.hasNext());
+    }
+
+}
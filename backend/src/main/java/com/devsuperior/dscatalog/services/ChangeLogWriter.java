@@ -0,0 +1,158 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.events.ChangeType;
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.events.ProductsRepricedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind change log. Product and category events are queued after commit on a bounded
+ * queue of {@code catalog.changes.queue-capacity}, and a scheduled flush appends them to
+ * {@code catalog_change} in JDBC batches, outside the writing transactions. When the queue is
+ * full the publishing thread waits up to {@code catalog.changes.offer-timeout} before the change
+ * is dropped and counted. A repriced chunk takes a single queue slot and one offer, and is
+ * expanded to one row per product when written.
+ */
+@Component
+public class ChangeLogWriter {
+
+    private static final String INSERT = "INSERT INTO catalog_change (entity_type, entity_id, type, occurred_at, payload, written_at) " +
+            "VALUES (:entityType, :entityId, :type, :occurredAt, :payload, CURRENT_TIMESTAMP)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.changes.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${catalog.changes.offer-timeout}")
+    private Duration offerTimeout;
+
+    @Value("${catalog.changes.batch-size}")
+    private int batchSize;
+
+    private BlockingQueue<Change> queue;
+    private Counter overflowed;
+    private Counter dropped;
+    private Counter failed;
+    private Counter written;
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("catalog.changes.queued", queue, BlockingQueue::size).register(meterRegistry);
+        overflowed = meterRegistry.counter("catalog.changes.overflowed");
+        dropped = meterRegistry.counter("catalog.changes.dropped", "reason", "queue-full");
+        failed = meterRegistry.counter("catalog.changes.dropped", "reason", "write-failed");
+        written = meterRegistry.counter("catalog.changes.written");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        enqueue(new Change("product", List.of(event.getProductId()), event.getType(), Instant.now(), event.getProduct()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsRepriced(ProductsRepricedEvent event) {
+        if (!event.getProductIds().isEmpty()) {
+            enqueue(new Change("product", List.copyOf(event.getProductIds()), ChangeType.UPDATED, Instant.now(), null));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        CategoryDTO payload = event.getType() == ChangeType.DELETED
+                ? null
+                : new CategoryDTO(event.getCategoryId(), event.getName());
+        enqueue(new Change("category", List.of(event.getCategoryId()), event.getType(), Instant.now(), payload));
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.changes.flush-interval}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Change> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            int rows = batch.stream().mapToInt(change -> change.entityIds().size()).sum();
+            try {
+                write(batch);
+                written.increment(rows);
+            } catch (DataAccessException e) {
+                failed.increment(rows);
+            }
+            batch.clear();
+        }
+    }
+
+    private void enqueue(Change change) {
+        if (queue.offer(change)) {
+            return;
+        }
+        overflowed.increment();
+        try {
+            if (queue.offer(change, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.increment();
+    }
+
+    private void write(List<Change> batch) {
+        List<SqlParameterSource> rows = new ArrayList<>();
+        for (Change change : batch) {
+            String payload = change.payload() == null ? null : objectMapper.writeValueAsString(change.payload());
+            for (Long entityId : change.entityIds()) {
+                rows.add(new MapSqlParameterSource()
+                        .addValue("entityType", change.entityType())
+                        .addValue("entityId", entityId)
+                        .addValue("type", change.type().name())
+                        .addValue("occurredAt", OffsetDateTime.ofInstant(change.occurredAt(), ZoneOffset.UTC))
+                        .addValue("payload", payload));
+            }
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT,
+                rows.toArray(SqlParameterSource[]::new)));
+    }
+
+    private record Change(String entityType, List<Long> entityIds, ChangeType type, Instant occurredAt, Object payload) {
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Opaque continuation token for keyset pagination. It carries the sort key plus the
+ * (sort value, id) pair of the last row returned, so the next page can seek past it
+ * instead of using an OFFSET. A null sort value is encoded by leaving the value part out;
+ * seeks order nulls first.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Cursor {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String SEPARATOR = ":";
+
+    private final String sort;
+    private final Long id;
+    private final String value;
+
+    public static Cursor first(String sort, Set<String> sortKeys) {
+        if (!sortKeys.contains(sort)) {
+            throw new InvalidRequestException("Invalid sort key for cursor: " + sort);
+        }
+        return new Cursor(sort, null, null);
+    }
+
+    public static Cursor after(String sort, Long id, Object value) {
+        return new Cursor(sort, id, value == null ? null : String.valueOf(value));
+    }
+
+    public static Cursor decode(String token, Set<String> sortKeys) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 3);
+            if (parts.length < 2 || !sortKeys.contains(parts[0])) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            return new Cursor(parts[0], Long.valueOf(parts[1]), parts.length == 3 ? parts[2] : null);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public String encode() {
+        String raw = value == null ? sort + SEPARATOR + id : sort + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Layout of product images on disk: {@code <catalog.images.dir>/<productId>/<uuid>.<ext>} for
+ * originals, with variants stored next to them as {@code <uuid>-<variant>.<ext>}. Every upload
+ * gets a new name, so a served file never changes and can be cached indefinitely.
+ */
+@Component
+public class ImageStorage {
+
+    private static final Pattern FILENAME = Pattern.compile("[0-9a-f-]{36}(-[a-z]+)?\\.(jpg|png|gif)");
+
+    @Value("${catalog.images.dir}")
+    private Path root;
+
+    @Value("${catalog.images.base-url}")
+    private String baseUrl;
+
+    public Path newOriginal(Long productId, String extension) throws IOException {
+        Path directory = Files.createDirectories(root.resolve(productId.toString()));
+        return directory.resolve(UUID.randomUUID() + "." + extension);
+    }
+
+    public Path variantOf(Path original, String variant, String extension) {
+        String name = original.getFileName().toString();
+        return original.resolveSibling(name.substring(0, name.lastIndexOf('.')) + "-" + variant + "." + extension);
+    }
+
+    public String urlOf(Long productId, Path file) {
+        return baseUrl + "/" + productId + "/" + file.getFileName();
+    }
+
+    public String urlPrefix() {
+        return baseUrl + "/";
+    }
+
+    /**
+     * Maps a URL produced by {@link #urlOf} back to its file, or null for any other URL.
+     */
+    public Path fromUrl(String url) {
+        if (url == null || !url.startsWith(urlPrefix())) {
+            return null;
+        }
+        String[] parts = url.substring(urlPrefix().length()).split("/");
+        if (parts.length != 2 || !parts[0].matches("\\d+") || !FILENAME.matcher(parts[1]).matches()) {
+            return null;
+        }
+        return root.resolve(parts[0]).resolve(parts[1]);
+    }
+
+    public Path resolve(Long productId, String filename) {
+        Path file = FILENAME.matcher(filename).matches() ? root.resolve(productId.toString()).resolve(filename) : null;
+        if (file == null || !Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Image " + productId + "/" + filename + " not found!");
+        }
+        return file;
+    }
+
+    public MediaType contentType(Path file) {
+        return MediaTypeFactory.getMediaType(file.getFileName().toString()).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+}
@@ -0,0 +1,74 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalog as NDJSON. Products are read through a forward-only cursor
+ * and handled in batches: the categories of each batch are fetched in one query, the
+ * batch is written out and the persistence context is cleared, so memory stays flat
+ * regardless of catalog size.
+ */
+@Service
+public class ProductExportService {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        long exported = 0;
+        List<Product> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<Product> products = repository.streamAll()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == BATCH_SIZE) {
+                    exported += writeBatch(batch, out);
+                }
+            }
+            exported += writeBatch(batch, out);
+        }
+        return exported;
+    }
+
+    private int writeBatch(List<Product> batch, OutputStream out) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        repository.findProductsWithCategories(batch.stream().map(Product::getId).toList());
+        for (Product product : batch) {
+            out.write(objectMapper.writeValueAsBytes(new ProductDTO(product, product.getCategories())));
+            out.write('\n');
+        }
+        out.flush();
+
+        int written = batch.size();
+        batch.clear();
+        entityManager.clear();
+        return written;
+    }
+
+}
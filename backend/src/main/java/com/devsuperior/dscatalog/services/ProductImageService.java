@@ -0,0 +1,309 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductImageDTO;
+import com.devsuperior.dscatalog.entities.ImageStatus;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.events.ProductSnapshot;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores uploaded product images through {@link ImageStorage} and renders the thumbnail and
+ * medium variants on a pool of {@code catalog.images.pool-size} threads fed by a queue of
+ * {@code catalog.images.queue-capacity}. Jobs rejected by a full queue, or lost to a restart, are
+ * picked up again by {@link #resubmitPending()}; images whose rendering fails are marked
+ * {@link ImageStatus#FAILED} so the sweep leaves them alone. Files of a replaced image are deleted
+ * once the new one is committed.
+ */
+@Service
+public class ProductImageService {
+
+    private static final Map<String, String> EXTENSIONS = Map.of("jpeg", "jpg", "png", "png", "gif", "gif");
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private ImageStorage storage;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.images.thumbnail-width}")
+    private int thumbnailWidth;
+
+    @Value("${catalog.images.medium-width}")
+    private int mediumWidth;
+
+    @Value("${catalog.images.max-pixels}")
+    private long maxPixels;
+
+    @Value("${catalog.images.pool-size}")
+    private int poolSize;
+
+    @Value("${catalog.images.queue-capacity}")
+    private int queueCapacity;
+
+    private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+    private Counter rendered;
+    private Counter rejected;
+    private Counter failed;
+
+    private record ImageInfo(String extension, int width, int height) {
+    }
+
+    private record Replacement(ProductDTO product, ProductSnapshot previous) {
+    }
+
+    @PostConstruct
+    void init() {
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, queue,
+                new CustomizableThreadFactory("image-"), new ThreadPoolExecutor.AbortPolicy());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("catalog.images.queued", queue, BlockingQueue::size).register(meterRegistry);
+        rendered = meterRegistry.counter("catalog.images.rendered");
+        rejected = meterRegistry.counter("catalog.images.rejected");
+        failed = meterRegistry.counter("catalog.images.failed");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ProductDTO upload(Long id, MultipartFile file) throws IOException {
+        ImageInfo info;
+        try (InputStream in = file.getInputStream()) {
+            info = probe(in);
+        }
+        Path original = storage.newOriginal(id, info.extension());
+        file.transferTo(original);
+
+        Replacement replacement;
+        try {
+            replacement = transactionTemplate.execute(status -> {
+                Product product = repository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Id not found: " + id));
+                ProductSnapshot previous = ProductSnapshot.of(product);
+                product.setImgUrl(storage.urlOf(id, original));
+                product.setImgWidth(info.width());
+                product.setImgHeight(info.height());
+                product.setImgStatus(ImageStatus.PENDING);
+                product.setThumbnailUrl(null);
+                product.setMediumUrl(null);
+                publisher.publishEvent(ProductChangedEvent.updated(previous, ProductSnapshot.of(product)));
+                return new Replacement(new ProductDTO(product), previous);
+            });
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(original);
+            throw e;
+        }
+        ProductSnapshot previous = replacement.previous();
+        deleteStored(previous.getImgUrl(), previous.getThumbnailUrl(), previous.getMediumUrl());
+        submit(id, original);
+        return replacement.product();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.images.resubmit-interval}")
+    public void resubmitPending() {
+        for (ProductImageDTO image : repository.findImagesByStatus(ImageStatus.PENDING)) {
+            Path original = storage.fromUrl(image.getImgUrl());
+            if (original != null && Files.isRegularFile(original)) {
+                submit(image.getId(), original);
+            } else {
+                markFailed(image.getId(), image.getImgUrl());
+            }
+        }
+    }
+
+    private void submit(Long id, Path original) {
+        if (!pending.add(original)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    render(id, original);
+                } finally {
+                    pending.remove(original);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(original);
+            rejected.increment();
+        }
+    }
+
+    private void render(Long id, Path original) {
+        try {
+            BufferedImage source;
+            try {
+                source = ImageIO.read(original.toFile());
+            } catch (IIOException e) {
+                source = null;
+            }
+            if (source == null) {
+                markFailed(id, storage.urlOf(id, original));
+                return;
+            }
+            Path thumbnail = writeVariant(source, original, "thumbnail", thumbnailWidth);
+            Path medium = writeVariant(source, original, "medium", mediumWidth);
+            Boolean applied = transactionTemplate.execute(status -> {
+                Product product = repository.findById(id).orElse(null);
+                // deleted, or replaced by a newer upload while this one was rendering
+                if (product == null || !storage.urlOf(id, original).equals(product.getImgUrl())) {
+                    return false;
+                }
+                ProductSnapshot previous = ProductSnapshot.of(product);
+                product.setThumbnailUrl(storage.urlOf(id, thumbnail));
+                product.setMediumUrl(storage.urlOf(id, medium));
+                product.setImgStatus(ImageStatus.RENDERED);
+                publisher.publishEvent(ProductChangedEvent.updated(previous, ProductSnapshot.of(product)));
+                return true;
+            });
+            if (Boolean.TRUE.equals(applied)) {
+                rendered.increment();
+            } else {
+                deleteStored(storage.urlOf(id, thumbnail), storage.urlOf(id, medium));
+            }
+        } catch (IOException | RuntimeException e) {
+            // a PENDING image would be resubmitted by every sweep
+            try {
+                markFailed(id, storage.urlOf(id, original));
+            } catch (RuntimeException markFailure) {
+                failed.increment();
+            }
+        }
+    }
+
+    /**
+     * Records an upload whose original is missing or cannot be rendered; retrying it would fail the same way.
+     */
+    private void markFailed(Long id, String imgUrl) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Product product = repository.findById(id).orElse(null);
+            if (product != null && imgUrl.equals(product.getImgUrl())) {
+                product.setImgStatus(ImageStatus.FAILED);
+            }
+        });
+        failed.increment();
+    }
+
+    /**
+     * Best effort: a file left behind only costs disk space.
+     */
+    private void deleteStored(String... urls) {
+        for (String url : urls) {
+            Path file = storage.fromUrl(url);
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // orphaned file, nothing references it any more
+                }
+            }
+        }
+    }
+
+    private Path writeVariant(BufferedImage source, Path original, String variant, int width) throws IOException {
+        boolean jpeg = original.getFileName().toString().endsWith(".jpg");
+        int targetWidth = Math.min(width, source.getWidth());
+        int targetHeight = Math.max(1, Math.round((float) source.getHeight() * targetWidth / source.getWidth()));
+
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight,
+                jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (jpeg) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, targetWidth, targetHeight);
+            }
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        Path target = storage.variantOf(original, variant, jpeg ? "jpg" : "png");
+        ImageIO.write(scaled, jpeg ? "jpeg" : "png", target.toFile());
+        return target;
+    }
+
+    /**
+     * Reads format and dimensions from the image header without decoding the pixels, so oversized
+     * images are rejected before they can be decoded into memory.
+     */
+    private ImageInfo probe(InputStream in) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = stream == null ? null : ImageIO.getImageReaders(stream);
+            if (readers == null || !readers.hasNext()) {
+                throw new InvalidRequestException("Unsupported image format, expected one of " + EXTENSIONS.keySet());
+            }
+            ImageReader reader = readers.next();
+            try {
+                String extension = EXTENSIONS.get(reader.getFormatName().toLowerCase());
+                if (extension == null) {
+                    throw new InvalidRequestException("Unsupported image format, expected one of " + EXTENSIONS.keySet());
+                }
+                reader.setInput(stream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new InvalidRequestException("Image of " + width + "x" + height
+                            + " exceeds the limit of " + maxPixels + " pixels");
+                }
+                return new ImageInfo(extension, width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
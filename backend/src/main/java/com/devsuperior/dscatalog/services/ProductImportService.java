@@ -0,0 +1,187 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductImportErrorDTO;
+import com.devsuperior.dscatalog.dto.ProductImportResultDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.events.ProductSnapshot;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk product ingest. Rows are validated up front, then persisted in chunks of
+ * {@code catalog.import.chunk-size}, each chunk in its own transaction so Hibernate can
+ * batch the inserts. A chunk that fails to commit is replayed row by row to isolate the
+ * offending rows; every other row is still imported.
+ */
+@Service
+public class ProductImportService {
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Value("${catalog.import.chunk-size}")
+    private int chunkSize;
+
+    public ProductImportResultDTO importJson(InputStream body) throws IOException {
+        ImportRun run = new ImportRun();
+        try (MappingIterator<ProductDTO> iterator = objectMapper.readerFor(ProductDTO.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                run.accept(iterator.nextValue());
+            }
+        } catch (JacksonException e) {
+            run.reject("Malformed JSON, import stopped: " + e.getOriginalMessage());
+        }
+        return run.finish();
+    }
+
+    public ProductImportResultDTO importNdjson(InputStream body) throws IOException {
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                run.accept(objectMapper.readValue(line, ProductDTO.class));
+            } catch (JacksonException e) {
+                run.reject("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    private Product toEntity(ProductDTO dto) {
+        Product product = new Product();
+        product.setName(dto.getName());
+        product.setDescription(dto.getDescription());
+        product.setDate(dto.getDate());
+        product.setImgUrl(dto.getImgUrl());
+        product.setPrice(dto.getPrice());
+        for (CategoryDTO categoryDTO : dto.getCategories()) {
+            product.getCategories().add(categoryRepository.getReferenceById(categoryDTO.getId()));
+        }
+        return product;
+    }
+
+    private record Row(long index, ProductDTO dto) {
+    }
+
+    private class ImportRun {
+
+        private final ProductImportResultDTO result = new ProductImportResultDTO();
+        private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        private final Set<Long> categoryIds = categoryRepository.findAllIds();
+        private final List<Row> chunk = new ArrayList<>(chunkSize);
+        private long row;
+
+        void accept(ProductDTO dto) {
+            row++;
+            result.setReceived(row);
+            String error = validate(dto);
+            if (error != null) {
+                result.getErrors().add(new ProductImportErrorDTO(row, error));
+                return;
+            }
+            chunk.add(new Row(row, dto));
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        void reject(String message) {
+            row++;
+            result.setReceived(row);
+            result.getErrors().add(new ProductImportErrorDTO(row, message));
+        }
+
+        ProductImportResultDTO finish() {
+            flushChunk();
+            return result;
+        }
+
+        private String validate(ProductDTO dto) {
+            if (dto == null) {
+                return "Empty row";
+            }
+            if (dto.getName() == null || dto.getName().isBlank()) {
+                return "Name is required";
+            }
+            if (dto.getCategories() == null) {
+                dto.setCategories(new ArrayList<>());
+            }
+            for (CategoryDTO category : dto.getCategories()) {
+                if (category == null || category.getId() == null) {
+                    return "Category id is required";
+                }
+                if (!categoryIds.contains(category.getId())) {
+                    return "Category not found: " + category.getId();
+                }
+            }
+            return null;
+        }
+
+        private void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                persist(chunk);
+                result.setImported(result.getImported() + chunk.size());
+            } catch (RuntimeException e) {
+                for (Row pending : chunk) {
+                    try {
+                        persist(List.of(pending));
+                        result.setImported(result.getImported() + 1);
+                    } catch (RuntimeException ex) {
+                        String cause = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+                        result.getErrors().add(new ProductImportErrorDTO(pending.index(), "Could not persist product: " + cause));
+                    }
+                }
+            }
+            chunk.clear();
+        }
+
+        private void persist(List<Row> rows) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Product> saved = repository.saveAll(rows.stream().map(pending -> toEntity(pending.dto())).toList());
+                saved.forEach(product -> publisher.publishEvent(ProductChangedEvent.inserted(ProductSnapshot.of(product))));
+            });
+        }
+    }
+
+}
@@ -0,0 +1,260 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFieldsDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.entities.ProductListing;
+import com.devsuperior.dscatalog.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.events.ChangeType;
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.events.ProductSnapshot;
+import com.devsuperior.dscatalog.events.ProductsRepricedEvent;
+import com.devsuperior.dscatalog.repositories.ProductListingRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.repositories.ProductSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the {@link ProductListing} read model and serves the product listing from it.
+ * The listeners run synchronously inside the writing transaction, so a listing row commits or
+ * rolls back together with the product or category change that produced it. An update writes
+ * only the columns that changed, with one statement and no read of the row. Categories are
+ * resolved through the persistence context, so a bulk import loads each one once per chunk
+ * and the listing inserts join the chunk's JDBC batch.
+ */
+@Service
+public class ProductListingService {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private ProductListingRepository repository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private ObjectReader categoriesReader;
+
+    @PostConstruct
+    void init() {
+        categoriesReader = objectMapper.readerForListOf(CategoryDTO.class);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> findAll(ProductFilterDTO filter, Pageable pageRequest) {
+        Page<ProductListing> page = repository.findAll(ProductSpecifications.matchingListing(filter), pageRequest);
+        return Timer.builder("catalog.mapping").tag("dto", "ProductDTO").register(meterRegistry)
+                .record(() -> page.map(listing -> new ProductDTO(listing, readCategories(listing))));
+    }
+
+    /**
+     * Reads only the summary columns and the requested optional ones, so {@code fields=categories}
+     * never loads the description.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductFieldsDTO> findFields(ProductFilterDTO filter, Set<String> fields, Pageable pageRequest) {
+        Page<Tuple> page = repository.findColumns(ProductSpecifications.matchingListing(filter), fields, pageRequest);
+        return Timer.builder("catalog.mapping").tag("dto", "ProductFieldsDTO").register(meterRegistry)
+                .record(() -> page.map(row -> toFields(row, fields)));
+    }
+
+    @EventListener
+    @Transactional
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            repository.deleteById(event.getProductId());
+            return;
+        }
+        ProductSnapshot product = event.getProduct();
+        if (event.getType() == ChangeType.UPDATED && updateChanged(event.getPrevious(), product)) {
+            return;
+        }
+        ProductListing listing = new ProductListing(product.getId());
+        copySnapshotToListing(product, listing, resolveCategories(product));
+        entityManager.persist(listing);
+    }
+
+    @EventListener
+    @Transactional
+    public void onProductsRepriced(ProductsRepricedEvent event) {
+        if (!event.getProductIds().isEmpty()) {
+            repository.refreshPrices(event.getProductIds());
+        }
+    }
+
+    /**
+     * Fans a rename or deletion out to every listing row of the category.
+     */
+    @EventListener
+    @Transactional
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getType() == ChangeType.INSERTED) {
+            return;
+        }
+        Long categoryId = event.getCategoryId();
+        for (ProductListing listing : repository.findByCategoryId(categoryId)) {
+            List<CategoryDTO> categories = readCategories(listing);
+            if (event.getType() == ChangeType.DELETED) {
+                categories.removeIf(category -> category.getId().equals(categoryId));
+            } else {
+                categories.stream()
+                        .filter(category -> category.getId().equals(categoryId))
+                        .forEach(category -> category.setName(event.getName()));
+            }
+            setCategories(listing, categories);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        repository.deleteAllInBatch();
+        List<Product> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<Product> products = productRepository.streamAll()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == BATCH_SIZE) {
+                    writeBatch(batch);
+                }
+            }
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<Product> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        productRepository.findProductsWithCategories(batch.stream().map(Product::getId).toList());
+        for (Product product : batch) {
+            ProductListing listing = new ProductListing(product.getId());
+            copySnapshotToListing(ProductSnapshot.of(product), listing, product.getCategories().stream()
+                    .map(CategoryDTO::new)
+                    .collect(Collectors.toCollection(ArrayList::new)));
+            entityManager.persist(listing);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        batch.clear();
+    }
+
+    /**
+     * Writes only the columns that differ from {@code previous}, or all of them when it is null,
+     * in one statement without loading the row. Returns false when a change found no row to update.
+     */
+    private boolean updateChanged(ProductSnapshot previous, ProductSnapshot product) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putChanged(changes, "name", previous, product, ProductSnapshot::getName);
+        putChanged(changes, "description", previous, product, ProductSnapshot::getDescription);
+        putChanged(changes, "price", previous, product, ProductSnapshot::getPrice);
+        putChanged(changes, "imgUrl", previous, product, ProductSnapshot::getImgUrl);
+        putChanged(changes, "thumbnailUrl", previous, product, ProductSnapshot::getThumbnailUrl);
+        putChanged(changes, "mediumUrl", previous, product, ProductSnapshot::getMediumUrl);
+        putChanged(changes, "date", previous, product, ProductSnapshot::getDate);
+        if (previous == null || !previous.getCategoryIds().equals(product.getCategoryIds())) {
+            List<CategoryDTO> categories = resolveCategories(product);
+            categories.sort(Comparator.comparing(CategoryDTO::getId));
+            changes.put("categories", objectMapper.writeValueAsString(categories));
+        }
+        if (changes.isEmpty()) {
+            return true;
+        }
+        Query update = entityManager.createQuery(changes.keySet().stream()
+                .map(attribute -> "obj." + attribute + " = :" + attribute)
+                .collect(Collectors.joining(", ", "UPDATE ProductListing obj SET ", " WHERE obj.id = :id")));
+        changes.forEach(update::setParameter);
+        update.setParameter("id", product.getId());
+        return update.executeUpdate() > 0;
+    }
+
+    private <T> void putChanged(Map<String, Object> changes, String attribute, ProductSnapshot previous,
+                                ProductSnapshot product, Function<ProductSnapshot, T> value) {
+        T current = value.apply(product);
+        if (previous == null || !Objects.equals(value.apply(previous), current)) {
+            changes.put(attribute, current);
+        }
+    }
+
+    private List<CategoryDTO> resolveCategories(ProductSnapshot product) {
+        return product.getCategoryIds().stream()
+                .map(id -> entityManager.find(Category.class, id))
+                .filter(Objects::nonNull)
+                .map(CategoryDTO::new)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private ProductFieldsDTO toFields(Tuple row, Set<String> fields) {
+        ProductFieldsDTO dto = new ProductFieldsDTO(row.get("id", Long.class), row.get("name", String.class),
+                row.get("price", Double.class), row.get("imgUrl", String.class), row.get("thumbnailUrl", String.class),
+                row.get("mediumUrl", String.class), row.get("date", Instant.class));
+        if (fields.contains("description")) {
+            dto.putOptionalField("description", row.get("description", String.class));
+        }
+        if (fields.contains("categories")) {
+            dto.putOptionalField("categories", categoriesReader.readValue(row.get("categories", String.class)));
+        }
+        return dto;
+    }
+
+    private void copySnapshotToListing(ProductSnapshot product, ProductListing listing, List<CategoryDTO> categories) {
+        listing.setName(product.getName());
+        listing.setDescription(product.getDescription());
+        listing.setPrice(product.getPrice());
+        listing.setImgUrl(product.getImgUrl());
+        listing.setThumbnailUrl(product.getThumbnailUrl());
+        listing.setMediumUrl(product.getMediumUrl());
+        listing.setDate(product.getDate());
+        setCategories(listing, categories);
+    }
+
+    private void setCategories(ProductListing listing, List<CategoryDTO> categories) {
+        categories.sort(Comparator.comparing(CategoryDTO::getId));
+        listing.setCategories(objectMapper.writeValueAsString(categories));
+    }
+
+    private List<CategoryDTO> readCategories(ProductListing listing) {
+        return categoriesReader.readValue(listing.getCategories());
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.config.ReplicaRoutingDataSource;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.dto.ResourceStampDTO;
+import com.devsuperior.dscatalog.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.events.ProductsRepricedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The first {@code catalog.hot-pages.pages} pages of the unfiltered product summary listing for
+ * each sort in {@code catalog.hot-pages.sorts}, serialized to JSON ahead of time and published
+ * together through an {@link AtomicReference}. Local writes mark the snapshot stale so lookups miss
+ * at once and the next refresh rebuilds it. Writes made by other instances are caught by a slower
+ * read of the catalog version. Rebuilds read from the primary, never from a replica that may not
+ * have caught up yet.
+ */
+@Component
+public class ProductPageSnapshot {
+
+    public record HotPage(byte[] json, ResourceStampDTO stamp) {
+    }
+
+    private static final ProductFilterDTO NO_FILTER = new ProductFilterDTO();
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogVersionService versionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.hot-pages.pages}")
+    private int pageCount;
+
+    @Value("${catalog.hot-pages.size}")
+    private int pageSize;
+
+    @Value("${catalog.hot-pages.sorts}")
+    private String[] sortSpecs;
+
+    private record Snapshot(ResourceStampDTO stamp, Map<Sort, HotPage[]> pages) {
+    }
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        hits = meterRegistry.counter("catalog.hot-pages.lookups", "result", "hit");
+        misses = meterRegistry.counter("catalog.hot-pages.lookups", "result", "miss");
+    }
+
+    /**
+     * Returns the pre-serialized page, or null when the page is not held or the snapshot is stale.
+     */
+    public HotPage find(Pageable pageable) {
+        Snapshot current = snapshot.get();
+        HotPage[] pages = current == null || stale.get() || pageable.isUnpaged() || pageable.getPageSize() != pageSize
+                ? null
+                : current.pages().get(pageable.getSort());
+        if (pages == null || pageable.getPageNumber() >= pages.length) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return pages[pageable.getPageNumber()];
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsRepriced(ProductsRepricedEvent event) {
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.hot-pages.refresh-interval}")
+    public void refresh() {
+        if (stale.get() || snapshot.get() == null) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Marks the snapshot stale once the catalog version moves past the held one. The version may
+     * be read from a lagging replica, since an older version never triggers a rebuild.
+     */
+    @Scheduled(fixedDelayString = "${catalog.hot-pages.version-check-interval}")
+    public void checkVersion() {
+        Snapshot current = snapshot.get();
+        if (current != null && versionService.findProductsVersion() > current.stamp().getVersions()) {
+            stale.set(true);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        ReplicaRoutingDataSource.pin();
+        try {
+            // cleared before reading, so a write committed during the rebuild leaves it stale again
+            stale.set(false);
+            snapshot.set(read());
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    private Snapshot read() {
+        ResourceStampDTO stamp = productService.findStamp();
+        Map<Sort, HotPage[]> rebuilt = new HashMap<>();
+        for (String spec : sortSpecs) {
+            Sort sort = parseSort(spec);
+            HotPage[] pages = new HotPage[pageCount];
+            for (int i = 0; i < pageCount; i++) {
+                PagedModel<?> page = new PagedModel<>(productService.findSummaries(NO_FILTER,
+                        PageRequest.of(i, pageSize, sort)));
+                pages[i] = new HotPage(objectMapper.writeValueAsBytes(page), stamp);
+            }
+            rebuilt.put(sort, pages);
+        }
+        return new Snapshot(stamp, Map.copyOf(rebuilt));
+    }
+
+    private Sort parseSort(String spec) {
+        if (spec.equals("unsorted")) {
+            return Sort.unsorted();
+        }
+        String[] parts = spec.split(":");
+        Sort.Direction direction = parts.length > 1 ? Sort.Direction.fromString(parts[1]) : Sort.Direction.ASC;
+        return Sort.by(direction, parts[0]);
+    }
+}
@@ -0,0 +1,118 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductPriceDTO;
+import com.devsuperior.dscatalog.dto.ProductRepriceResultDTO;
+import com.devsuperior.dscatalog.events.ProductsRepricedEvent;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk repricing for the pricing engine. Products are never loaded as entities: explicit prices
+ * are sent as JDBC batches and percentage adjustments as one set-based UPDATE per chunk of
+ * {@code catalog.pricing.chunk-size} ids, each chunk in its own transaction. Every touched row
+ * gets its version and update date bumped, so ETags and optimistic locks see the change.
+ */
+@Service
+public class ProductPriceService {
+
+    private static final String UPDATE_PRICE = "UPDATE product SET price = :price, version = version + 1, " +
+            "updated_date = CURRENT_TIMESTAMP WHERE id = :id";
+
+    private static final String ADJUST_PRICE = "UPDATE product SET price = price * :factor, version = version + 1, " +
+            "updated_date = CURRENT_TIMESTAMP WHERE id IN (:ids)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Value("${catalog.pricing.chunk-size}")
+    private int chunkSize;
+
+    public ProductRepriceResultDTO updatePrices(List<ProductPriceDTO> prices) {
+        for (ProductPriceDTO price : prices) {
+            if (price.getId() == null || price.getPrice() == null || price.getPrice() < 0) {
+                throw new InvalidRequestException("Every entry needs an id and a non-negative price");
+            }
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ProductRepriceResultDTO result = new ProductRepriceResultDTO();
+        for (int from = 0; from < prices.size(); from += chunkSize) {
+            List<ProductPriceDTO> chunk = prices.subList(from, Math.min(from + chunkSize, prices.size()));
+            List<Long> updated = transactionTemplate.execute(status -> {
+                SqlParameterSource[] batch = chunk.stream()
+                        .map(price -> new MapSqlParameterSource()
+                                .addValue("id", price.getId())
+                                .addValue("price", price.getPrice()))
+                        .toArray(SqlParameterSource[]::new);
+                int[] counts = jdbcTemplate.batchUpdate(UPDATE_PRICE, batch);
+                List<Long> ids = new ArrayList<>(chunk.size());
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] != 0) {
+                        ids.add(chunk.get(i).getId());
+                    }
+                }
+                publisher.publishEvent(new ProductsRepricedEvent(ids));
+                return ids;
+            });
+            Set<Long> updatedIds = new HashSet<>(updated);
+            result.setAffected(result.getAffected() + updated.size());
+            chunk.stream()
+                    .map(ProductPriceDTO::getId)
+                    .filter(id -> !updatedIds.contains(id))
+                    .forEach(result.getMissing()::add);
+        }
+        return result;
+    }
+
+    public ProductRepriceResultDTO adjustPrices(Long categoryId, double percent) {
+        if (percent <= -100) {
+            throw new InvalidRequestException("Adjustment must be greater than -100%");
+        }
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category with id " + categoryId + " not found!");
+        }
+        List<Long> productIds = jdbcTemplate.queryForList(
+                "SELECT product_id FROM product_category WHERE category_id = :categoryId ORDER BY product_id",
+                Map.of("categoryId", categoryId), Long.class);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ProductRepriceResultDTO result = new ProductRepriceResultDTO();
+        for (int from = 0; from < productIds.size(); from += chunkSize) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + chunkSize, productIds.size()));
+            Integer count = transactionTemplate.execute(status -> {
+                int updated = jdbcTemplate.update(ADJUST_PRICE, new MapSqlParameterSource()
+                        .addValue("factor", 1 + percent / 100)
+                        .addValue("ids", chunk));
+                publisher.publishEvent(new ProductsRepricedEvent(List.copyOf(chunk)));
+                return updated;
+            });
+            result.setAffected(result.getAffected() + count);
+        }
+        return result;
+    }
+
+}
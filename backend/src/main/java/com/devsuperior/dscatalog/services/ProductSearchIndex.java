@@ -0,0 +1,200 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.events.ChangeType;
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.events.ProductSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over product name and description. Matches must contain every
+ * query term and are ranked by TF-IDF, with name terms weighted above description terms.
+ * The index is kept current from {@link ProductChangedEvent}s after commit.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings postings = new Postings();
+    private List<ProductChangedEvent> pendingDuringRebuild;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(postings, event);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts collecting live changes so they can be replayed on top of a rebuilt index.
+     */
+    public Postings beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+            return new Postings();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishRebuild(Postings rebuilt) {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.forEach(event -> apply(rebuilt, event));
+            }
+            postings = rebuilt;
+            pendingDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, Long categoryId, int offset, int limit) {
+        Set<String> terms = tokenize(query).keySet();
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            return postings.search(terms, categoryId, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return postings.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Postings postings, ProductChangedEvent event) {
+        postings.remove(event.getProductId());
+        if (event.getType() != ChangeType.DELETED) {
+            postings.add(event.getProduct());
+        }
+    }
+
+    static Map<String, Float> tokenize(String text) {
+        Map<String, Float> terms = new HashMap<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1) {
+                terms.merge(token, 1f, Float::sum);
+            }
+        }
+        return terms;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final List<Long> ids;
+        private final long total;
+    }
+
+    private record Document(Set<String> terms, Set<Long> categoryIds) {
+    }
+
+    private record Hit(Long id, double score) {
+    }
+
+    public static class Postings {
+
+        private final Map<String, Map<Long, Float>> termIndex = new HashMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+
+        public void add(ProductSnapshot product) {
+            Map<String, Float> weights = new HashMap<>();
+            tokenize(product.getName()).forEach((term, tf) -> weights.merge(term, tf * NAME_WEIGHT, Float::sum));
+            tokenize(product.getDescription()).forEach((term, tf) -> weights.merge(term, tf * DESCRIPTION_WEIGHT, Float::sum));
+
+            weights.forEach((term, weight) -> termIndex.computeIfAbsent(term, t -> new HashMap<>()).put(product.getId(), weight));
+            documents.put(product.getId(), new Document(weights.keySet(), product.getCategoryIds()));
+        }
+
+        void remove(Long id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms()) {
+                Map<Long, Float> docs = termIndex.get(term);
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    termIndex.remove(term);
+                }
+            }
+        }
+
+        SearchResult search(Set<String> terms, Long categoryId, int offset, int limit) {
+            List<Map<Long, Float>> matches = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Float> docs = termIndex.get(term);
+                if (docs == null) {
+                    return new SearchResult(List.of(), 0);
+                }
+                matches.add(docs);
+            }
+            matches.sort(Comparator.comparingInt(Map::size));
+
+            List<Hit> hits = new ArrayList<>();
+            for (Long id : matches.get(0).keySet()) {
+                if (categoryId != null && !documents.get(id).categoryIds().contains(categoryId)) {
+                    continue;
+                }
+                double score = 0;
+                boolean all = true;
+                for (Map<Long, Float> docs : matches) {
+                    Float weight = docs.get(id);
+                    if (weight == null) {
+                        all = false;
+                        break;
+                    }
+                    score += weight * Math.log(1 + (double) documents.size() / docs.size());
+                }
+                if (all) {
+                    hits.add(new Hit(id, score));
+                }
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id));
+
+            List<Long> ids = hits.stream().skip(offset).limit(limit).map(Hit::id).toList();
+            return new SearchResult(ids, hits.size());
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.events.ProductSnapshot;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class ProductSearchService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    @Autowired
+    private ProductSearchIndex index;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> search(String query, Long categoryId, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be empty");
+        }
+        ProductSearchIndex.SearchResult result = index.search(query, categoryId,
+                (int) pageable.getOffset(), pageable.getPageSize());
+        if (result.getIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.getTotal());
+        }
+
+        Map<Long, Product> products = repository.findProductsWithCategories(result.getIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductDTO> content = result.getIds().stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(product -> new ProductDTO(product, product.getCategories()))
+                .toList();
+        return new PageImpl<>(content, pageable, result.getTotal());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        ProductSearchIndex.Postings postings = index.beginRebuild();
+        List<Product> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        try (Stream<Product> stream = repository.streamAll()) {
+            Iterator<Product> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == REBUILD_BATCH_SIZE) {
+                    indexBatch(batch, postings);
+                }
+            }
+            indexBatch(batch, postings);
+        }
+        index.finishRebuild(postings);
+    }
+
+    private void indexBatch(List<Product> batch, ProductSearchIndex.Postings postings) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        repository.findProductsWithCategories(batch.stream().map(Product::getId).toList());
+        batch.forEach(product -> postings.add(ProductSnapshot.of(product)));
+        batch.clear();
+        entityManager.clear();
+    }
+
+}
@@ -1,85 +1,333 @@
 package com.devsuperior.dscatalog.services;
 
+import com.devsuperior.dscatalog.config.Coalesced;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFieldsDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.dto.ProductLookupDTO;
+import com.devsuperior.dscatalog.dto.ProductPatchDTO;
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
+import com.devsuperior.dscatalog.dto.ResourceStampDTO;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.events.ProductSnapshot;
 import com.devsuperior.dscatalog.exceptions.DataBaseException;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.exceptions.PreconditionFailedException;
 import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.repositories.ProductSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
 
+    private static final Set<String> CURSOR_SORT_KEYS = Set.of("id", "name", "price");
+    private static final int MAX_LOOKUP_IDS = 100;
+    // price cursors issued before null values were left out of the token carry them as this literal
+    private static final String LEGACY_NULL_PRICE = "null";
+
     @Autowired
     private ProductRepository repository;
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ProductListingService listingService;
+
+    @Autowired
+    private CatalogVersionService versionService;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> findAllPaged(ProductFilterDTO filter, Pageable pageRequest) {
+        validate(filter);
+        return listingService.findAll(filter, pageRequest);
+    }
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    public Page<ProductFieldsDTO> findFields(ProductFilterDTO filter, Set<String> fields, Pageable pageRequest) {
+        validate(filter);
+        return listingService.findFields(filter, fields, pageRequest);
+    }
+
+    @Coalesced
     @Transactional(readOnly = true)
-    public Page<ProductDTO> findAllPaged(Pageable pageRequest) {
-        Page<Product> categories = repository.findAll(pageRequest);
-        return categories.map(ProductDTO::new);
+    public Page<ProductSummaryDTO> findSummaries(ProductFilterDTO filter, Pageable pageRequest) {
+        validate(filter);
+        return repository.findSummaries(ProductSpecifications.matching(filter), pageRequest);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductDTO> findAllByCursor(String token, String sort, int size) {
+        if (size < 1 || size > Cursor.MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Cursor page size must be between 1 and " + Cursor.MAX_PAGE_SIZE);
+        }
+        Cursor cursor = token == null || token.isBlank()
+                ? Cursor.first(sort, CURSOR_SORT_KEYS)
+                : Cursor.decode(token, CURSOR_SORT_KEYS);
+        Slice<Product> slice = findSlice(cursor, size);
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Product last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = Cursor.after(cursor.getSort(), last.getId(), sortValue(cursor.getSort(), last)).encode();
+        }
+        fetchCategories(slice.getContent());
+        List<ProductDTO> content = mapped(() -> slice.map(product -> new ProductDTO(product, product.getCategories()))
+                .getContent());
+        return new CursorPageDTO<>(content, size, nextCursor);
+    }
+
+    /**
+     * Validator for the product collections. It carries only the maintained catalog version, so
+     * a conditional list request reads one row instead of aggregating over the product table.
+     */
+    @Transactional(readOnly = true)
+    public ResourceStampDTO findStamp() {
+        return new ResourceStampDTO(null, versionService.findProductsVersion(), null, null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceStampDTO findStampById(Long id) {
+        ResourceStampDTO stamp = repository.findStampById(id);
+        if (stamp.isEmpty()) {
+            throw new ResourceNotFoundException("Product with id " + id + " not found!");
+        }
+        return stamp;
+    }
+
+    /**
+     * Validator for a multi-get, aggregated over the requested rows only.
+     */
+    @Transactional(readOnly = true)
+    public ResourceStampDTO findStampByIds(List<Long> ids) {
+        return repository.findStampByIds(lookupIds(ids));
+    }
+
+    @Coalesced
     @Transactional(readOnly = true)
     public ProductDTO findById(Long id) {
         Optional<Product> Product = repository.findById(id);
         Product entity = Product.orElseThrow(() -> new ResourceNotFoundException("Product with id " + id + " not found!"));
-        return new ProductDTO(entity, entity.getCategories());
+        return mapped(() -> new ProductDTO(entity, entity.getCategories()));
+    }
+
+    @Transactional(readOnly = true)
+    public ProductLookupDTO findAllById(List<Long> ids) {
+        Set<Long> requested = lookupIds(ids);
+        Map<Long, Product> found = repository.findProductsWithCategories(requested).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return mapped(() -> {
+            List<ProductDTO> content = new ArrayList<>(found.size());
+            List<Long> missing = new ArrayList<>();
+            for (Long id : requested) {
+                Product product = found.get(id);
+                if (product == null) {
+                    missing.add(id);
+                } else {
+                    content.add(new ProductDTO(product, product.getCategories()));
+                }
+            }
+            return new ProductLookupDTO(content, missing);
+        });
     }
 
     @Transactional
     public ProductDTO insert(ProductDTO dto) {
         Product Product = new Product();
         copyDtoToEntity(dto, Product);
-        return new ProductDTO(repository.save(Product));
+        Product entity = repository.save(Product);
+        publisher.publishEvent(ProductChangedEvent.inserted(ProductSnapshot.of(entity)));
+        return new ProductDTO(entity);
     }
 
     @Transactional
     public ProductDTO update(Long id, ProductDTO dto) {
-        try {
-            Product Product = repository.getReferenceById(id);
-            copyDtoToEntity(dto, Product);
-            return new ProductDTO(repository.save(Product));
-        } catch (EntityNotFoundException e) {
-            throw new ResourceNotFoundException("Id not found: " + id);
-        }
+        return apply(id, null, product -> copyDtoToEntity(dto, product));
+    }
+
+    @Transactional
+    public ProductDTO update(Long id, ProductDTO dto, long expectedVersion) {
+        return apply(id, expectedVersion, product -> copyDtoToEntity(dto, product));
     }
 
+    @Transactional
+    public ProductDTO patch(Long id, ProductPatchDTO dto) {
+        return apply(id, null, product -> copyPatchToEntity(dto, product));
+    }
+
+    @Transactional
+    public ProductDTO patch(Long id, ProductPatchDTO dto, long expectedVersion) {
+        return apply(id, expectedVersion, product -> copyPatchToEntity(dto, product));
+    }
+
+    @Transactional
     public void delete(Long id) {
         var entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Id not found: " + id));
 
         try {
             repository.delete(entity);
+            repository.flush();
+            publisher.publishEvent(ProductChangedEvent.deleted(id));
         } catch (DataIntegrityViolationException e) {
             throw new DataBaseException("Integrity violation");
         }
     }
 
+    private ProductDTO apply(Long id, Long expectedVersion, Consumer<Product> changes) {
+        try {
+            Product Product = repository.getReferenceById(id);
+            if (expectedVersion != null && Product.getVersion() != expectedVersion.longValue()) {
+                throw new PreconditionFailedException("Product with id " + id + " was modified concurrently");
+            }
+            ProductSnapshot previous = ProductSnapshot.of(Product);
+            changes.accept(Product);
+            Product entity = repository.save(Product);
+            publisher.publishEvent(ProductChangedEvent.updated(previous, ProductSnapshot.of(entity)));
+            return new ProductDTO(entity);
+        } catch (EntityNotFoundException e) {
+            throw new ResourceNotFoundException("Id not found: " + id);
+        }
+    }
+
+    private <T> T mapped(Supplier<T> mapping) {
+        return Timer.builder("catalog.mapping").tag("dto", "ProductDTO").register(meterRegistry).record(mapping);
+    }
+
+    private Set<Long> lookupIds(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.isEmpty() || requested.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidRequestException("Between 1 and " + MAX_LOOKUP_IDS + " ids must be requested");
+        }
+        return requested;
+    }
+
+    private void validate(ProductFilterDTO filter) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new InvalidRequestException("minPrice must not be greater than maxPrice");
+        }
+        if (filter.getMinDate() != null && filter.getMaxDate() != null
+                && filter.getMinDate().isAfter(filter.getMaxDate())) {
+            throw new InvalidRequestException("minDate must not be after maxDate");
+        }
+    }
+
+    private void fetchCategories(List<Product> products) {
+        if (!products.isEmpty()) {
+            repository.findProductsWithCategories(products.stream().map(Product::getId).toList());
+        }
+    }
+
+    private Slice<Product> findSlice(Cursor cursor, int size) {
+        if (cursor.isFirst()) {
+            Sort sort = cursor.getSort().equals("id")
+                    ? Sort.by("id")
+                    : Sort.by(Sort.Order.asc(cursor.getSort()).nullsFirst(), Sort.Order.asc("id"));
+            return repository.findAllBy(PageRequest.of(0, size, sort));
+        }
+        Pageable limit = PageRequest.of(0, size);
+        try {
+            return switch (cursor.getSort()) {
+                case "name" -> cursor.getValue() == null
+                        ? repository.findByNullNameAfter(cursor.getId(), limit)
+                        : repository.findByNameAfter(cursor.getValue(), cursor.getId(), limit);
+                case "price" -> cursor.getValue() == null || LEGACY_NULL_PRICE.equals(cursor.getValue())
+                        ? repository.findByNullPriceAfter(cursor.getId(), limit)
+                        : repository.findByPriceAfter(Double.valueOf(cursor.getValue()), cursor.getId(), limit);
+                default -> repository.findByIdAfter(cursor.getId(), limit);
+            };
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    private Object sortValue(String sort, Product product) {
+        return switch (sort) {
+            case "name" -> product.getName();
+            case "price" -> product.getPrice();
+            default -> product.getId();
+        };
+    }
+
     private void copyDtoToEntity(ProductDTO dto, Product product) {
         product.setName(dto.getName());
         product.setDescription(dto.getDescription());
         product.setDate(dto.getDate());
         product.setImgUrl(dto.getImgUrl());
         product.setPrice(dto.getPrice());
+        syncCategories(dto.getCategories(), product);
+    }
+
+    private void copyPatchToEntity(ProductPatchDTO dto, Product product) {
+        if (dto.getName() != null) {
+            product.setName(dto.getName());
+        }
+        if (dto.getDescription() != null) {
+            product.setDescription(dto.getDescription());
+        }
+        if (dto.getDate() != null) {
+            product.setDate(dto.getDate());
+        }
+        if (dto.getImgUrl() != null) {
+            product.setImgUrl(dto.getImgUrl());
+        }
+        if (dto.getPrice() != null) {
+            product.setPrice(dto.getPrice());
+        }
+        if (dto.getCategories() != null) {
+            syncCategories(dto.getCategories(), product);
+        }
+    }
+
+    // removes and adds only the links that differ, so unchanged product_category rows are left alone
+    private void syncCategories(List<CategoryDTO> categories, Product product) {
+        Set<Long> target = categories.stream().map(CategoryDTO::getId).collect(Collectors.toSet());
+        Set<Long> current = product.getCategories().stream().map(Category::getId).collect(Collectors.toSet());
 
-        product.getCategories().clear();
-        for (CategoryDTO categoryDTO : dto.getCategories()) {
-            Category category = categoryRepository.getReferenceById(categoryDTO.getId());
-            product.getCategories().add(category);
+        product.getCategories().removeIf(category -> !target.contains(category.getId()));
+        for (Long categoryId : target) {
+            if (!current.contains(categoryId)) {
+                product.getCategories().add(categoryRepository.getReferenceById(categoryId));
+            }
         }
     }
 
@@ -0,0 +1,86 @@
+package com.devsuperior.dscatalog.config;
+
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AdmissionControlDataSourceTests {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private AdmissionControlDataSource dataSource;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new AdmissionControlDataSource(target, 1, Duration.ofMillis(50));
+        registry = new SimpleMeterRegistry();
+        dataSource.bindTo(registry);
+    }
+
+    @Test
+    public void getConnectionShouldTimeOutWhenAllPermitsAreInUse() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+
+        dataSource.getConnection();
+
+        Assertions.assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        Assertions.assertEquals(1.0, registry.get("catalog.datasource.admission.active").gauge().value());
+        Assertions.assertEquals(2, registry.get("catalog.datasource.admission.wait").timer().count());
+    }
+
+    @Test
+    public void closeShouldReleasePermitOnlyOnce() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        Assertions.assertNotNull(second);
+        Assertions.assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    public void equalsAndHashCodeShouldUseProxyIdentity() throws Exception {
+        dataSource = new AdmissionControlDataSource(target, 2, Duration.ofMillis(50));
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        Assertions.assertEquals(first, first);
+        Assertions.assertNotEquals(first, second);
+        Assertions.assertNotEquals(first, connection);
+        Assertions.assertEquals(System.identityHashCode(first), first.hashCode());
+    }
+
+    @Test
+    public void getConnectionShouldReleasePermitWhenTargetFails() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("down")).thenReturn(connection);
+
+        Assertions.assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+        Assertions.assertNotNull(dataSource.getConnection());
+    }
+}
@@ -0,0 +1,157 @@
+package com.devsuperior.dscatalog.config;
+
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CoalescingInterceptorTests {
+
+    public static class Lookup {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Coalesced
+        public String find(Long id) throws InterruptedException {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            if (id < 0) {
+                throw new IllegalArgumentException("negative id");
+            }
+            return "product " + id;
+        }
+    }
+
+    @Mock
+    private ObjectProvider<MeterRegistry> registryProvider;
+
+    private SimpleMeterRegistry registry;
+    private Lookup target;
+    private Lookup lookup;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        when(registryProvider.getObject()).thenReturn(registry);
+        target = new Lookup();
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new CoalescingInterceptor(registryProvider));
+        lookup = (Lookup) factory.getProxy();
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentEqualCallsShouldShareOneInvocation() throws Exception {
+        Future<String> first = executor.submit(() -> lookup.find(1L));
+        target.started.await(5, TimeUnit.SECONDS);
+        Future<String> second = executor.submit(() -> lookup.find(1L));
+        awaitFollowers(1);
+        target.release.countDown();
+
+        Assertions.assertEquals("product 1", first.get(5, TimeUnit.SECONDS));
+        Assertions.assertSame(first.get(), second.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, target.calls.get());
+        Assertions.assertEquals(1.0, registry.get("catalog.coalescing.calls").tag("role", "leader").counter().count());
+    }
+
+    @Test
+    public void followersShouldReceiveLeaderException() throws Exception {
+        Future<String> first = executor.submit(() -> lookup.find(-1L));
+        target.started.await(5, TimeUnit.SECONDS);
+        Future<String> second = executor.submit(() -> lookup.find(-1L));
+        awaitFollowers(1);
+        target.release.countDown();
+
+        Exception leaderFailure = Assertions.assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = Assertions.assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IllegalArgumentException.class, leaderFailure.getCause());
+        Assertions.assertInstanceOf(IllegalArgumentException.class, followerFailure.getCause());
+        Assertions.assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    public void pinnedCallsShouldNotJoinUnpinnedCalls() throws Exception {
+        Future<String> first = executor.submit(() -> lookup.find(1L));
+        target.started.await(5, TimeUnit.SECONDS);
+        Future<String> second = executor.submit(() -> {
+            ReplicaRoutingDataSource.pin();
+            try {
+                return lookup.find(1L);
+            } finally {
+                ReplicaRoutingDataSource.unpin();
+            }
+        });
+        awaitLeaders(2);
+        target.release.countDown();
+
+        Assertions.assertEquals("product 1", first.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("product 1", second.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, target.calls.get());
+        Assertions.assertNull(registry.find("catalog.coalescing.calls").tag("role", "follower").counter());
+    }
+
+    @Test
+    public void callsShouldNotBeJoinedOnceCompleted() throws Exception {
+        target.release.countDown();
+
+        lookup.find(1L);
+        lookup.find(1L);
+        lookup.find(2L);
+
+        Assertions.assertEquals(3, target.calls.get());
+        Assertions.assertEquals(3.0, registry.get("catalog.coalescing.calls").tag("role", "leader").counters()
+                .stream().mapToDouble(counter -> counter.count()).sum());
+    }
+
+    private void awaitLeaders(int leaders) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            var counter = registry.find("catalog.coalescing.calls").tag("role", "leader").counter();
+            if (counter != null && counter.count() >= leaders) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        Assertions.fail("pinned call did not start its own invocation");
+    }
+
+    private void awaitFollowers(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            var counter = registry.find("catalog.coalescing.calls").tag("role", "follower").counter();
+            if (counter != null && counter.count() >= followers) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        Assertions.fail("followers did not join the in-flight call");
+    }
+}
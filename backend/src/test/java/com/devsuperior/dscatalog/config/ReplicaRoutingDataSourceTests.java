@@ -0,0 +1,117 @@
+package com.devsuperior.dscatalog.config;
+
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTests {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ReplicaRoutingDataSource dataSource;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new ReplicaRoutingDataSource(primary, replica, "SELECT lag", Duration.ofSeconds(2));
+        dataSource.afterPropertiesSet();
+        registry = new SimpleMeterRegistry();
+        dataSource.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    public void readOnlyTransactionShouldUseReplicaWhenLagIsTolerated() throws Exception {
+        replicaLag(0.5);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertEquals(ReplicaRoutingDataSource.Route.REPLICA, dataSource.determineCurrentLookupKey());
+        Assertions.assertEquals(0.5, registry.get("catalog.datasource.replica.lag").gauge().value());
+        Assertions.assertEquals(1.0, registry.get("catalog.datasource.route").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    public void readWriteTransactionShouldUsePrimary() throws Exception {
+        replicaLag(0.5);
+
+        Assertions.assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void readOnlyTransactionShouldUsePrimaryWhenReplicaLagsTooFarBehind() throws Exception {
+        replicaLag(5);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void readOnlyTransactionShouldUsePrimaryWhenLagCheckFails() throws Exception {
+        when(replica.getConnection()).thenThrow(new SQLException("down"));
+        dataSource.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, dataSource.determineCurrentLookupKey());
+        Assertions.assertTrue(Double.isNaN(registry.get("catalog.datasource.replica.lag").gauge().value()));
+    }
+
+    @Test
+    public void readOnlyTransactionShouldUsePrimaryWhenPinned() throws Exception {
+        replicaLag(0);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.pin();
+
+        Assertions.assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void readOnlyTransactionShouldUsePrimaryBeforeFirstLagCheck() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    private void replicaLag(double seconds) throws SQLException {
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SELECT lag")).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(seconds);
+        dataSource.checkLag();
+    }
+}
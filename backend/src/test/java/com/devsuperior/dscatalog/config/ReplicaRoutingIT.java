@@ -0,0 +1,86 @@
+package com.devsuperior.dscatalog.config;
+
+
+import com.devsuperior.dscatalog.services.ProductService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "catalog.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "replica"})
+public class ReplicaRoutingIT {
+
+    private static final String REPLICA_NAME = "The Lord of the Rings";
+    private static final String PRIMARY_NAME = "Written to the primary only";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource.checkLag();
+        jdbcTemplate.update("UPDATE product SET name = ? WHERE id = 1", PRIMARY_NAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE product SET name = ? WHERE id = 1", REPLICA_NAME);
+    }
+
+    @Test
+    public void readOnlyServiceCallShouldBeServedByReplica() {
+        Assertions.assertEquals(REPLICA_NAME, productService.findById(1L).getName());
+    }
+
+    @Test
+    public void pinnedServiceCallShouldBeServedByPrimary() {
+        ReplicaRoutingDataSource.pin();
+        try {
+            Assertions.assertEquals(PRIMARY_NAME, productService.findById(1L).getName());
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    @Test
+    public void requestWithoutPinCookieShouldBeServedByReplica() throws Exception {
+        mockMvc.perform(get("/products/{id}", 1L).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(REPLICA_NAME));
+    }
+
+    @Test
+    public void requestWithPinCookieShouldBeServedByPrimary() throws Exception {
+        Cookie pin = new Cookie(ReadYourWritesFilter.COOKIE, String.valueOf(System.currentTimeMillis() + 60_000));
+
+        mockMvc.perform(get("/products/{id}", 1L).cookie(pin).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(PRIMARY_NAME));
+    }
+}
@@ -0,0 +1,64 @@
+package com.devsuperior.dscatalog.config;
+
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SlowQueryLogSamplerTests {
+
+    @Mock
+    private ObjectProvider<MeterRegistry> registryProvider;
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger slowLogger = context.getLogger(SlowQueryLogSampler.SLOW_QUERY_LOGGER);
+
+    private SimpleMeterRegistry registry;
+    private SlowQueryLogSampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        sampler = new SlowQueryLogSampler();
+        ReflectionTestUtils.setField(sampler, "registry", registryProvider);
+    }
+
+    @Test
+    public void decideShouldDropSlowQueriesOutsideTheSampleButCountThem() {
+        when(registryProvider.getIfAvailable()).thenReturn(registry);
+        ReflectionTestUtils.setField(sampler, "sampleRate", 0.0);
+
+        Assertions.assertEquals(FilterReply.DENY, sampler.decide(null, slowLogger, null, "Slow query took 300 ms", null, null));
+        Assertions.assertEquals(1.0, registry.get("catalog.jpa.slow-queries").counter().count());
+    }
+
+    @Test
+    public void decideShouldPassSlowQueriesInsideTheSample() {
+        when(registryProvider.getIfAvailable()).thenReturn(registry);
+        ReflectionTestUtils.setField(sampler, "sampleRate", 1.0);
+
+        Assertions.assertEquals(FilterReply.NEUTRAL, sampler.decide(null, slowLogger, null, "Slow query took 300 ms", null, null));
+    }
+
+    @Test
+    public void decideShouldIgnoreLevelChecksAndOtherLoggers() {
+        ReflectionTestUtils.setField(sampler, "sampleRate", 0.0);
+
+        Assertions.assertEquals(FilterReply.NEUTRAL, sampler.decide(null, slowLogger, null, null, null, null));
+        Assertions.assertEquals(FilterReply.NEUTRAL, sampler.decide(null, context.getLogger("org.hibernate.SQL"), null, "select 1", null, null));
+        verifyNoInteractions(registryProvider);
+    }
+}
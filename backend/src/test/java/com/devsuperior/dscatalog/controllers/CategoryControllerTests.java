@@ -1,22 +1,31 @@
 package com.devsuperior.dscatalog.controllers;
 
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CategoryStatsDTO;
+import com.devsuperior.dscatalog.dto.ResourceStampDTO;
 import com.devsuperior.dscatalog.exceptions.DataBaseException;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
 import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
 import com.devsuperior.dscatalog.factories.Factory;
 import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.CategoryStatsService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import tools.jackson.databind.ObjectMapper;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,6 +41,9 @@ public class CategoryControllerTests {
     @MockitoBean
     private CategoryService categoryService;
 
+    @MockitoBean
+    private CategoryStatsService categoryStatsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -41,6 +53,14 @@ public class CategoryControllerTests {
 
     private final CategoryDTO CATEGORY_DTO = Factory.createCategoryDTO();
     private final PageImpl<CategoryDTO> PAGE = new PageImpl<>(List.of(CATEGORY_DTO));
+    private final ResourceStampDTO STAMP = new ResourceStampDTO(1L, Instant.parse("2020-07-14T10:00:00Z"), null);
+
+    @BeforeEach
+    public void setup() {
+        when(categoryService.findStamp()).thenReturn(STAMP);
+        when(categoryService.findStampById(EXISTING_ID)).thenReturn(STAMP);
+        when(categoryService.findStampById(NON_EXISTING_ID)).thenThrow(ResourceNotFoundException.class);
+    }
 
     @Test
     public void findAllShouldReturnPage() throws Exception {
@@ -49,6 +69,27 @@ public class CategoryControllerTests {
         mockMvc.perform(get("/categories").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
     }
 
+    @Test
+    public void findAllByCursorShouldReturnCursorPage() throws Exception {
+        CursorPageDTO<CategoryDTO> cursorPage = new CursorPageDTO<>(List.of(CATEGORY_DTO), 1, "next");
+        when(categoryService.findAllByCursor(any(), eq("name"), eq(1))).thenReturn(cursorPage);
+
+        mockMvc.perform(get("/categories").param("cursor", "").param("sort", "name").param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    public void findAllByCursorShouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+        when(categoryService.findAllByCursor(eq("invalid"), any(), anyInt())).thenThrow(InvalidRequestException.class);
+
+        mockMvc.perform(get("/categories").param("cursor", "invalid")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void findByIdShouldReturnCategoryDTOWhenIdExist() throws Exception {
         when(categoryService.findById(EXISTING_ID)).thenReturn(CATEGORY_DTO);
@@ -60,6 +101,16 @@ public class CategoryControllerTests {
                 .andExpect(jsonPath("$.name").exists());
     }
 
+    @Test
+    public void findByIdShouldReturnNotModifiedWithoutBuildingDtoWhenETagMatches() throws Exception {
+        mockMvc.perform(get("/categories/{id}", EXISTING_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, STAMP.getETag())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+
+        verify(categoryService, never()).findById(any());
+    }
+
     @Test
     public void findByIdShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
         when(categoryService.findById(NON_EXISTING_ID)).thenThrow(ResourceNotFoundException.class);
@@ -69,6 +120,25 @@ public class CategoryControllerTests {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void findStatsShouldReturnStatsWhenIdExist() throws Exception {
+        when(categoryStatsService.findById(EXISTING_ID))
+                .thenReturn(new CategoryStatsDTO(EXISTING_ID, 2, 90.5, 100.99, 95.745, Instant.parse("2020-07-14T10:00:00Z")));
+
+        mockMvc.perform(get("/categories/{id}/stats", EXISTING_ID).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productCount").value(2))
+                .andExpect(jsonPath("$.minPrice").value(90.5));
+    }
+
+    @Test
+    public void findStatsShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
+        when(categoryStatsService.findById(NON_EXISTING_ID)).thenThrow(ResourceNotFoundException.class);
+
+        mockMvc.perform(get("/categories/{id}/stats", NON_EXISTING_ID).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     public void updateShouldReturnCategoryDTOWhenIdExist() throws Exception {
         when(categoryService.update(eq(EXISTING_ID), any())).thenReturn(CATEGORY_DTO);
@@ -84,6 +154,18 @@ public class CategoryControllerTests {
                 .andExpect(jsonPath("$.name").exists());
     }
 
+    @Test
+    public void updateShouldReturnPreconditionFailedWhenIfMatchIsStale() throws Exception {
+        String jsonBody = objectMapper.writeValueAsString(CATEGORY_DTO);
+
+        mockMvc.perform(put("/categories/{id}", EXISTING_ID)
+                        .header(HttpHeaders.IF_MATCH, "\"stale\"")
+                        .content(jsonBody)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     public void updateShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
         when(categoryService.update(eq(NON_EXISTING_ID), any())).thenThrow(ResourceNotFoundException.class);
@@ -0,0 +1,51 @@
+package com.devsuperior.dscatalog.controllers;
+
+import com.devsuperior.dscatalog.dto.CatalogChangeDTO;
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.events.ChangeType;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.services.ChangeLogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ChangeController.class)
+public class ChangeControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ChangeLogService changeLogService;
+
+    @Test
+    public void findSinceShouldReturnChangesWithRawPayload() throws Exception {
+        CatalogChangeDTO change = new CatalogChangeDTO(8L, "category", 4L, ChangeType.INSERTED,
+                Instant.parse("2020-07-14T10:00:00Z"), "{\"id\":4,\"name\":\"Garden\"}");
+        when(changeLogService.findSince(7L, 100)).thenReturn(new ChangeFeedDTO(List.of(change), 8L, false));
+
+        mockMvc.perform(get("/changes").param("since", "7").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].payload.name").value("Garden"))
+                .andExpect(jsonPath("$.next").value(8));
+    }
+
+    @Test
+    public void findSinceShouldReturnBadRequestWhenSizeIsInvalid() throws Exception {
+        when(changeLogService.findSince(0L, 0)).thenThrow(new InvalidRequestException("Page size must be between 1 and 1000"));
+
+        mockMvc.perform(get("/changes").param("size", "0").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
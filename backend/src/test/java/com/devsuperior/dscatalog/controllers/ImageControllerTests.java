@@ -0,0 +1,70 @@
+package com.devsuperior.dscatalog.controllers;
+
+import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.ImageStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ImageController.class)
+public class ImageControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ImageStorage storage;
+
+    @TempDir
+    private Path directory;
+
+    private final String FILENAME = "3f1c5a36-2a63-4f0e-9a57-3c8f0d2b7e41-thumbnail.png";
+
+    @Test
+    public void serveShouldReturnImageWithLongLivedCacheHeaders() throws Exception {
+        Path file = Files.write(directory.resolve(FILENAME), new byte[]{1, 2, 3, 4});
+        when(storage.resolve(1L, FILENAME)).thenReturn(file);
+        when(storage.contentType(file)).thenReturn(MediaType.IMAGE_PNG);
+
+        mockMvc.perform(get("/images/{productId}/{filename}", 1L, FILENAME))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(content().bytes(new byte[]{1, 2, 3, 4}))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "4"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")));
+    }
+
+    @Test
+    public void serveShouldReturnNotModifiedWhenImageIsUnchanged() throws Exception {
+        Path file = Files.write(directory.resolve(FILENAME), new byte[]{1, 2, 3, 4});
+        when(storage.resolve(1L, FILENAME)).thenReturn(file);
+
+        mockMvc.perform(get("/images/{productId}/{filename}", 1L, FILENAME)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, Files.getLastModifiedTime(file).toMillis() + 1000))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void serveShouldReturnNotFoundWhenImageDoesNotExist() throws Exception {
+        when(storage.resolve(1L, "missing.png")).thenThrow(ResourceNotFoundException.class);
+
+        mockMvc.perform(get("/images/{productId}/{filename}", 1L, "missing.png"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,27 +1,55 @@
 package com.devsuperior.dscatalog.controllers;
 
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.entities.Product;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFieldsDTO;
+import com.devsuperior.dscatalog.dto.ProductRepriceResultDTO;
+import com.devsuperior.dscatalog.dto.ProductLookupDTO;
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
+import com.devsuperior.dscatalog.dto.ResourceStampDTO;
+import com.devsuperior.dscatalog.dto.ProductImportResultDTO;
 import com.devsuperior.dscatalog.exceptions.DataBaseException;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
 import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
 import com.devsuperior.dscatalog.factories.Factory;
+import com.devsuperior.dscatalog.services.ProductExportService;
+import com.devsuperior.dscatalog.services.ProductImageService;
+import com.devsuperior.dscatalog.services.ProductImportService;
+import com.devsuperior.dscatalog.services.ProductPageSnapshot;
+import com.devsuperior.dscatalog.services.ProductPriceService;
+import com.devsuperior.dscatalog.services.ProductSearchService;
 import com.devsuperior.dscatalog.services.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import tools.jackson.databind.ObjectMapper;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProductController.class)
@@ -33,6 +61,24 @@ public class ProductControllerTests {
     @MockitoBean
     private ProductService productService;
 
+    @MockitoBean
+    private ProductImportService productImportService;
+
+    @MockitoBean
+    private ProductExportService productExportService;
+
+    @MockitoBean
+    private ProductSearchService productSearchService;
+
+    @MockitoBean
+    private ProductPriceService productPriceService;
+
+    @MockitoBean
+    private ProductPageSnapshot productPageSnapshot;
+
+    @MockitoBean
+    private ProductImageService productImageService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -42,17 +88,172 @@ public class ProductControllerTests {
 
     private final ProductDTO PRODUCT_DTO = Factory.createProductDTO();
     private final PageImpl<ProductDTO> PAGE = new PageImpl<>(List.of(PRODUCT_DTO));
+    private final PageImpl<ProductSummaryDTO> SUMMARY_PAGE = new PageImpl<>(List.of(new ProductSummaryDTO(
+            PRODUCT_DTO.getId(), PRODUCT_DTO.getName(), PRODUCT_DTO.getPrice(), PRODUCT_DTO.getImgUrl(), null, PRODUCT_DTO.getDate())));
+
+    private final ResourceStampDTO STAMP = new ResourceStampDTO(1L, 0L, Instant.parse("2020-07-14T10:00:00Z"), null, null);
 
     @BeforeEach
     public void setup() {
+        when(productService.findStamp()).thenReturn(STAMP);
+        when(productService.findStampById(EXISTING_ID)).thenReturn(STAMP);
+        when(productService.findStampById(NON_EXISTING_ID)).thenThrow(ResourceNotFoundException.class);
     }
 
 
     @Test
     public void findAllShouldReturnPage() throws Exception {
-        when(productService.findAllPaged(any())).thenReturn(PAGE);
+        when(productService.findSummaries(any(), any())).thenReturn(SUMMARY_PAGE);
+
+        mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").exists())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].categories").doesNotExist());
+    }
+
+    @Test
+    public void findAllShouldReturnCompactPageEnvelope() throws Exception {
+        when(productService.findSummaries(any(), any())).thenReturn(SUMMARY_PAGE);
+
+        mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(1))
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+    }
+
+    @Test
+    public void findAllShouldReturnCborWhenRequested() throws Exception {
+        when(productService.findSummaries(any(), any())).thenReturn(SUMMARY_PAGE);
+
+        mockMvc.perform(get("/products").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    public void findAllShouldServeSnapshotPageWithoutQueryingService() throws Exception {
+        byte[] json = "{\"content\":[],\"page\":{\"totalElements\":25}}".getBytes(StandardCharsets.UTF_8);
+        when(productPageSnapshot.find(any())).thenReturn(new ProductPageSnapshot.HotPage(json, STAMP));
+
+        mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, STAMP.getETag()))
+                .andExpect(jsonPath("$.page.totalElements").value(25));
+
+        verify(productService, never()).findStamp();
+        verify(productService, never()).findSummaries(any(), any());
+    }
+
+    @Test
+    public void findAllShouldBypassSnapshotWhenCborIsPreferred() throws Exception {
+        when(productService.findSummaries(any(), any())).thenReturn(SUMMARY_PAGE);
+
+        mockMvc.perform(get("/products").header(HttpHeaders.ACCEPT, "application/cbor, */*;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+
+        verify(productPageSnapshot, never()).find(any());
+    }
+
+    @Test
+    public void uploadImageShouldReturnProductWithStoredImage() throws Exception {
+        PRODUCT_DTO.setImgUrl("/images/1/original.png");
+        when(productImageService.upload(eq(EXISTING_ID), any())).thenReturn(PRODUCT_DTO);
+        MockMultipartFile file = new MockMultipartFile("file", "photo.png", MediaType.IMAGE_PNG_VALUE, new byte[]{1, 2, 3});
+
+        mockMvc.perform(multipart("/products/{id}/image", EXISTING_ID).file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imgUrl").value("/images/1/original.png"));
+    }
+
+    @Test
+    public void findAllShouldReturnRequestedFields() throws Exception {
+        ProductFieldsDTO fields = new ProductFieldsDTO(PRODUCT_DTO.getId(), PRODUCT_DTO.getName(), PRODUCT_DTO.getPrice(),
+                PRODUCT_DTO.getImgUrl(), null, null, PRODUCT_DTO.getDate());
+        fields.putOptionalField("categories", PRODUCT_DTO.getCategories());
+        when(productService.findFields(any(), eq(Set.of("categories")), any())).thenReturn(new PageImpl<>(List.of(fields)));
+
+        mockMvc.perform(get("/products").param("fields", "categories").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value(PRODUCT_DTO.getName()))
+                .andExpect(jsonPath("$.content[0].categories").isArray())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+    }
 
-        mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+    @Test
+    public void findAllShouldReturnBadRequestWhenFieldIsUnknown() throws Exception {
+        mockMvc.perform(get("/products").param("fields", "password").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void findAllShouldBindFilterParameters() throws Exception {
+        when(productService.findSummaries(argThat(filter -> filter.getCategoryId().equals(List.of(1L, 3L))
+                && filter.getMinPrice() == 100.0
+                && filter.getMaxDate().equals(Instant.parse("2020-08-01T00:00:00Z"))), any())).thenReturn(SUMMARY_PAGE);
+
+        mockMvc.perform(get("/products")
+                        .param("categoryId", "1", "3")
+                        .param("minPrice", "100")
+                        .param("maxDate", "2020-08-01T00:00:00Z")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(EXISTING_ID));
+    }
+
+    @Test
+    public void findAllByCursorShouldReturnCursorPage() throws Exception {
+        CursorPageDTO<ProductDTO> cursorPage = new CursorPageDTO<>(List.of(PRODUCT_DTO), 1, "next");
+        when(productService.findAllByCursor(any(), eq("name"), eq(1))).thenReturn(cursorPage);
+
+        mockMvc.perform(get("/products").param("cursor", "").param("sort", "name").param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    public void findAllByCursorShouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+        when(productService.findAllByCursor(eq("invalid"), any(), anyInt())).thenThrow(InvalidRequestException.class);
+
+        mockMvc.perform(get("/products").param("cursor", "invalid")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void findAllByIdShouldReturnFoundProductsAndMissingIds() throws Exception {
+        when(productService.findStampByIds(List.of(EXISTING_ID, NON_EXISTING_ID))).thenReturn(STAMP);
+        when(productService.findAllById(List.of(EXISTING_ID, NON_EXISTING_ID)))
+                .thenReturn(new ProductLookupDTO(List.of(PRODUCT_DTO), List.of(NON_EXISTING_ID)));
+
+        mockMvc.perform(get("/products").param("ids", "1,2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(PRODUCT_DTO.getId()))
+                .andExpect(jsonPath("$.missing[0]").value(NON_EXISTING_ID));
+    }
+
+    @Test
+    public void findAllByIdShouldReturnNotModifiedWithoutBuildingDtoWhenETagMatches() throws Exception {
+        when(productService.findStampByIds(List.of(EXISTING_ID))).thenReturn(STAMP);
+
+        mockMvc.perform(get("/products").param("ids", "1").header(HttpHeaders.IF_NONE_MATCH, STAMP.getETag())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+        verify(productService, never()).findAllById(any());
+        verify(productService, never()).findStamp();
+    }
+
+    @Test
+    public void searchShouldReturnPage() throws Exception {
+        when(productSearchService.search(eq("iphone"), eq(1L), any())).thenReturn(PAGE);
+
+        mockMvc.perform(get("/products/search").param("q", "iphone").param("categoryId", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(EXISTING_ID));
     }
 
     @Test
@@ -70,6 +271,50 @@ public class ProductControllerTests {
                 .andExpect(jsonPath("$.price").exists());
     }
 
+    @Test
+    public void findByIdShouldReturnValidators() throws Exception {
+        when(productService.findById(EXISTING_ID)).thenReturn(PRODUCT_DTO);
+
+        mockMvc.perform(get("/products/{id}", EXISTING_ID)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, STAMP.getETag()))
+                .andExpect(header().string(ResourceStampDTO.STRONG_ETAG_HEADER, STAMP.getStrongETag()))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, STAMP.getLastModified()));
+    }
+
+    @Test
+    public void findByIdShouldVaryByAccept() throws Exception {
+        mockMvc.perform(get("/products/{id}", EXISTING_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, STAMP.getETag())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    public void findByIdShouldReturnNotModifiedWithoutBuildingDtoWhenETagMatches() throws Exception {
+        mockMvc.perform(get("/products/{id}", EXISTING_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, STAMP.getETag())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(productService, never()).findById(any());
+    }
+
+    @Test
+    public void findAllShouldIgnoreIfModifiedSinceAndOmitLastModified() throws Exception {
+        when(productService.findSummaries(any(), any())).thenReturn(SUMMARY_PAGE);
+
+        mockMvc.perform(get("/products")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Tue, 14 Jul 2020 10:00:00 GMT")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, STAMP.getETag()))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    }
+
     @Test
     public void findByIdShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
         when(productService.findById(NON_EXISTING_ID)).thenThrow(ResourceNotFoundException.class);
@@ -99,6 +344,124 @@ public class ProductControllerTests {
                 .andExpect(jsonPath("$.categories").exists());
     }
 
+    @Test
+    public void updateShouldPassStampVersionWhenIfMatchMatches() throws Exception {
+        when(productService.update(eq(EXISTING_ID), any(), eq(STAMP.getVersions()))).thenReturn(PRODUCT_DTO);
+
+        String jsonBody = objectMapper.writeValueAsString(PRODUCT_DTO);
+
+        mockMvc.perform(put("/products/{id}", EXISTING_ID)
+                        .header(HttpHeaders.IF_MATCH, STAMP.getStrongETag())
+                        .content(jsonBody)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ResourceStampDTO.STRONG_ETAG_HEADER, STAMP.getStrongETag()));
+    }
+
+    @Test
+    public void updateShouldIgnoreCategoryChangesWhenMatchingIfMatch() throws Exception {
+        when(productService.update(eq(EXISTING_ID), any(), eq(STAMP.getVersions()))).thenReturn(PRODUCT_DTO);
+        ResourceStampDTO beforeCategoryRename = new ResourceStampDTO(STAMP.getCount(), STAMP.getVersions(),
+                STAMP.getCreatedDate(), STAMP.getUpdatedDate(), Instant.parse("2020-07-13T10:00:00Z"));
+
+        String jsonBody = objectMapper.writeValueAsString(PRODUCT_DTO);
+
+        mockMvc.perform(put("/products/{id}", EXISTING_ID)
+                        .header(HttpHeaders.IF_MATCH, beforeCategoryRename.getStrongETag())
+                        .content(jsonBody)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void updateShouldReturnPreconditionFailedWhenIfMatchIsWeak() throws Exception {
+        String jsonBody = objectMapper.writeValueAsString(PRODUCT_DTO);
+
+        mockMvc.perform(put("/products/{id}", EXISTING_ID)
+                        .header(HttpHeaders.IF_MATCH, STAMP.getETag())
+                        .content(jsonBody)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(productService, never()).update(any(), any(), anyLong());
+    }
+
+    @Test
+    public void updateShouldReturnPreconditionFailedWhenIfMatchIsStale() throws Exception {
+        String jsonBody = objectMapper.writeValueAsString(PRODUCT_DTO);
+
+        mockMvc.perform(put("/products/{id}", EXISTING_ID)
+                        .header(HttpHeaders.IF_MATCH, "\"stale\"")
+                        .content(jsonBody)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(productService, never()).update(any(), any(), anyLong());
+    }
+
+    @Test
+    public void updateShouldReturnPreconditionFailedWhenIfMatchOnlySharesAPrefix() throws Exception {
+        String own = STAMP.getCount() + "-" + STAMP.getVersions() + "-"
+                + STAMP.getCreatedDate().getEpochSecond() * 1_000_000;
+        String jsonBody = objectMapper.writeValueAsString(PRODUCT_DTO);
+
+        mockMvc.perform(put("/products/{id}", EXISTING_ID)
+                        .header(HttpHeaders.IF_MATCH, "\"" + own + "3-0-0\"")
+                        .content(jsonBody)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(productService, never()).update(any(), any(), anyLong());
+    }
+
+    @Test
+    public void updateShouldReturnConflictWhenVersionChangesConcurrently() throws Exception {
+        when(productService.update(eq(EXISTING_ID), any(), eq(STAMP.getVersions())))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, EXISTING_ID));
+        String jsonBody = objectMapper.writeValueAsString(PRODUCT_DTO);
+
+        mockMvc.perform(put("/products/{id}", EXISTING_ID)
+                        .header(HttpHeaders.IF_MATCH, STAMP.getStrongETag())
+                        .content(jsonBody)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void patchShouldReturnProductDTOWhenIdExist() throws Exception {
+        when(productService.patch(eq(EXISTING_ID), argThat(patch -> patch.getPrice() == 999.0 && patch.getName() == null)))
+                .thenReturn(PRODUCT_DTO);
+
+        mockMvc.perform(patch("/products/{id}", EXISTING_ID)
+                        .content("{\"price\": 999.0}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(EXISTING_ID));
+    }
+
+    @Test
+    public void updatePricesShouldReturnSummary() throws Exception {
+        ProductRepriceResultDTO summary = new ProductRepriceResultDTO();
+        summary.setAffected(1);
+        summary.getMissing().add(NON_EXISTING_ID);
+        when(productPriceService.updatePrices(argThat(prices -> prices.size() == 2))).thenReturn(summary);
+
+        mockMvc.perform(patch("/products/prices")
+                        .content("[{\"id\": 1, \"price\": 10.0}, {\"id\": 2, \"price\": 20.0}]")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(NON_EXISTING_ID));
+    }
+
     @Test
     public void updateShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
         when(productService.update(eq(NON_EXISTING_ID), any())).thenThrow(ResourceNotFoundException.class);
@@ -158,4 +521,42 @@ public class ProductControllerTests {
                 .andExpect(jsonPath("$.price").exists())
                 .andExpect(jsonPath("$.categories").exists());
     }
+
+    @Test
+    public void importNdjsonShouldReturnImportResult() throws Exception {
+        ProductImportResultDTO importResult = new ProductImportResultDTO();
+        importResult.setReceived(1);
+        importResult.setImported(1);
+        when(productImportService.importNdjson(any())).thenReturn(importResult);
+
+        String body = objectMapper.writeValueAsString(PRODUCT_DTO) + "\n";
+
+        mockMvc.perform(post("/products/batch")
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(1))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors").isEmpty());
+    }
+
+    @Test
+    public void exportShouldStreamNdjson() throws Exception {
+        String line = objectMapper.writeValueAsString(PRODUCT_DTO) + "\n";
+        when(productExportService.exportNdjson(any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/products/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(line));
+    }
 }
@@ -21,7 +21,7 @@ public class Factory {
     }
 
     public static Category createCategory() {
-        return new Category(1L, "Eletronics", now(), now());
+        return new Category(1L, "Eletronics", 0, now(), now());
     }
 
     public static CategoryDTO createCategoryDTO() {
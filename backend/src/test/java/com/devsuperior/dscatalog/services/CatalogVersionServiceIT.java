@@ -0,0 +1,42 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.factories.Factory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class CatalogVersionServiceIT {
+
+    @Autowired
+    private CatalogVersionService service;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    public void productsVersionShouldIncrementOncePerCommittedWrite() {
+        long before = service.findProductsVersion();
+
+        Long id = productService.insert(Factory.createProductDTO()).getId();
+        Assertions.assertEquals(before + 1, service.findProductsVersion());
+
+        productService.delete(id);
+        Assertions.assertEquals(before + 2, service.findProductsVersion());
+    }
+
+    @Test
+    public void findStampShouldChangeOnlyWhenCatalogVersionChanges() {
+        String before = productService.findStamp().getETag();
+        Assertions.assertEquals(before, productService.findStamp().getETag());
+
+        Long id = productService.insert(Factory.createProductDTO()).getId();
+        try {
+            Assertions.assertNotEquals(before, productService.findStamp().getETag());
+        } finally {
+            productService.delete(id);
+        }
+    }
+}
@@ -1,18 +1,26 @@
 package com.devsuperior.dscatalog.services;
 
 
+import com.devsuperior.dscatalog.config.CacheConfig;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.exceptions.PreconditionFailedException;
 import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
 import com.devsuperior.dscatalog.factories.Factory;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @SpringBootTest
@@ -25,6 +33,12 @@ public class CategoryServiceIT {
     @Autowired
     private CategoryRepository repository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private final long EXISTING_ID = 1L;
     private final long NON_EXISTING_ID = 999L;
     private long COUNT_TOTAL_CATEGORIES = 3L;
@@ -63,6 +77,19 @@ public class CategoryServiceIT {
         Assertions.assertEquals("Eletronics", result.getContent().get(2).getName());
     }
 
+    @Test
+    public void findAllByCursorShouldSeekPastPreviousPage() {
+        CursorPageDTO<CategoryDTO> first = service.findAllByCursor(null, "name", 2);
+        CursorPageDTO<CategoryDTO> second = service.findAllByCursor(first.getNextCursor(), "name", 2);
+
+        Assertions.assertEquals("Books", first.getContent().get(0).getName());
+        Assertions.assertEquals("Computers", first.getContent().get(1).getName());
+        Assertions.assertNotNull(first.getNextCursor());
+        Assertions.assertEquals(1, second.getContent().size());
+        Assertions.assertEquals("Eletronics", second.getContent().get(0).getName());
+        Assertions.assertNull(second.getNextCursor());
+    }
+
     @Test
     public void findByIdShouldReturnCategoryDTOWhenIdExists() {
         var result = service.findById(EXISTING_ID);
@@ -71,6 +98,54 @@ public class CategoryServiceIT {
         Assertions.assertEquals(EXISTING_ID, result.getId());
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findByIdShouldServeRepeatedLookupsFromCache() {
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache = nativeCache(CacheConfig.CATEGORIES);
+        service.findById(EXISTING_ID);
+        long hits = nativeCache.stats().hitCount();
+
+        CategoryDTO result = service.findById(EXISTING_ID);
+
+        Assertions.assertEquals(EXISTING_ID, result.getId());
+        Assertions.assertEquals(hits + 1, nativeCache.stats().hitCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void updateShouldEvictCachedCategory() {
+        CategoryDTO cached = service.findById(EXISTING_ID);
+        Assertions.assertNotNull(cacheManager.getCache(CacheConfig.CATEGORIES).get(EXISTING_ID));
+
+        service.update(EXISTING_ID, new CategoryDTO(EXISTING_ID, cached.getName()));
+
+        Assertions.assertNull(cacheManager.getCache(CacheConfig.CATEGORIES).get(EXISTING_ID));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void repositoryShouldServeCategoryFromSecondLevelCacheAcrossTransactions() {
+        repository.findById(EXISTING_ID);
+        long hits = secondLevelHits("category");
+
+        repository.findById(EXISTING_ID);
+
+        Assertions.assertEquals(hits + 1, secondLevelHits("category"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void updateShouldInvalidateSecondLevelCache() {
+        String original = repository.findById(EXISTING_ID).orElseThrow().getName();
+        try {
+            service.update(EXISTING_ID, new CategoryDTO(EXISTING_ID, "Renamed"));
+
+            Assertions.assertEquals("Renamed", repository.findById(EXISTING_ID).orElseThrow().getName());
+        } finally {
+            service.update(EXISTING_ID, new CategoryDTO(EXISTING_ID, original));
+        }
+    }
+
     @Test
     public void findByIdShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
         Assertions.assertThrows(ResourceNotFoundException.class, () -> {
@@ -94,6 +169,16 @@ public class CategoryServiceIT {
         Assertions.assertEquals(categoryFound.getName(), updatedCategory.getName());
     }
 
+    @Test
+    public void updateShouldThrowPreconditionFailedExceptionWhenVersionIsStale() {
+        long version = service.findStampById(EXISTING_ID).getVersions();
+        service.update(EXISTING_ID, Factory.createCategoryDTO(), version);
+        repository.flush();
+
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> service.update(EXISTING_ID, Factory.createCategoryDTO(), version));
+    }
+
     @Test
     public void updateShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
         Assertions.assertThrows(ResourceNotFoundException.class,
@@ -121,4 +206,14 @@ public class CategoryServiceIT {
                     repository.flush();
                 });
     }
+
+    private long secondLevelHits(String region) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getCacheRegionStatistics(region).getHitCount();
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        return (com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache();
+    }
 }
@@ -7,6 +7,7 @@ import com.devsuperior.dscatalog.exceptions.DataBaseException;
 import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
 import com.devsuperior.dscatalog.factories.Factory;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,11 +16,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +38,9 @@ public class CategoryServiceTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher publisher;
+
     private final long EXISTING_ID = 1L;
     private final long NON_EXISTING_ID = 2L;
     private final long DEPENDENT_ID = 3L;
@@ -45,6 +51,7 @@ public class CategoryServiceTests {
 
     @BeforeEach
     void setUp() throws Exception {
+        ReflectionTestUtils.setField(categoryService, "meterRegistry", new SimpleMeterRegistry());
     }
 
     @Test
@@ -0,0 +1,98 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.dto.CategoryStatsDTO;
+import com.devsuperior.dscatalog.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.events.ProductSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+public class CategoryStatsIndexTests {
+
+    private static final Instant JULY_13 = Instant.parse("2020-07-13T10:00:00Z");
+    private static final Instant JULY_14 = Instant.parse("2020-07-14T10:00:00Z");
+
+    private CategoryStatsIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new CategoryStatsIndex();
+        CategoryStatsIndex.Aggregates aggregates = index.beginRebuild();
+        aggregates.addCategory(1L);
+        aggregates.addCategory(2L);
+        aggregates.putProduct(1L, 100.0, JULY_13, Set.of(1L));
+        aggregates.putProduct(2L, 300.0, JULY_14, Set.of(1L, 2L));
+        index.finishRebuild(aggregates);
+    }
+
+    @Test
+    public void getShouldReturnAggregatesAfterRebuild() {
+        CategoryStatsDTO stats = index.get(1L);
+
+        Assertions.assertEquals(2, stats.getProductCount());
+        Assertions.assertEquals(100.0, stats.getMinPrice());
+        Assertions.assertEquals(300.0, stats.getMaxPrice());
+        Assertions.assertEquals(200.0, stats.getAvgPrice());
+        Assertions.assertEquals(JULY_14, stats.getLatestProductDate());
+    }
+
+    @Test
+    public void onProductChangedShouldMoveProductBetweenCategories() {
+        index.onProductChanged(ProductChangedEvent.updated(null, snapshot(2L, 50.0, JULY_13, 2L)));
+
+        Assertions.assertEquals(1, index.get(1L).getProductCount());
+        Assertions.assertEquals(100.0, index.get(1L).getMaxPrice());
+        Assertions.assertEquals(JULY_13, index.get(1L).getLatestProductDate());
+        Assertions.assertEquals(50.0, index.get(2L).getMinPrice());
+    }
+
+    @Test
+    public void onProductChangedShouldKeepMinimumCorrectAfterDelete() {
+        index.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        CategoryStatsDTO stats = index.get(1L);
+        Assertions.assertEquals(1, stats.getProductCount());
+        Assertions.assertEquals(300.0, stats.getMinPrice());
+    }
+
+    @Test
+    public void repriceShouldOnlyChangePrices() {
+        index.reprice(Map.of(1L, 500.0));
+
+        CategoryStatsDTO stats = index.get(1L);
+        Assertions.assertEquals(2, stats.getProductCount());
+        Assertions.assertEquals(500.0, stats.getMaxPrice());
+        Assertions.assertEquals(JULY_14, stats.getLatestProductDate());
+    }
+
+    @Test
+    public void onCategoryChangedShouldAddEmptyStatsAndRemoveDeletedCategory() {
+        index.onCategoryChanged(CategoryChangedEvent.inserted(3L, "Garden"));
+        index.onCategoryChanged(CategoryChangedEvent.deleted(2L));
+
+        Assertions.assertEquals(0, index.get(3L).getProductCount());
+        Assertions.assertNull(index.get(3L).getMinPrice());
+        Assertions.assertNull(index.get(2L));
+    }
+
+    @Test
+    public void finishRebuildShouldReplayChangesMadeDuringRebuild() {
+        CategoryStatsIndex.Aggregates aggregates = index.beginRebuild();
+        index.onProductChanged(ProductChangedEvent.inserted(snapshot(3L, 10.0, JULY_14, 2L)));
+        aggregates.addCategory(2L);
+        index.finishRebuild(aggregates);
+
+        Assertions.assertEquals(1, index.get(2L).getProductCount());
+        Assertions.assertEquals(10.0, index.get(2L).getMinPrice());
+    }
+
+    private static ProductSnapshot snapshot(Long id, Double price, Instant date, Long categoryId) {
+        return new ProductSnapshot(id, "Product " + id, null, price, null, null, null, date, Set.of(categoryId));
+    }
+}
@@ -0,0 +1,46 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.dto.CategoryStatsDTO;
+import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class CategoryStatsServiceIT {
+
+    @Autowired
+    private CategoryStatsService service;
+
+    private final long EXISTING_ID = 2L;
+    private final long NON_EXISTING_ID = 1000L;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service.recompute();
+    }
+
+    @Test
+    public void findByIdShouldReturnRecomputedStats() {
+        CategoryStatsDTO stats = service.findById(EXISTING_ID);
+
+        Assertions.assertEquals(2, stats.getProductCount());
+        Assertions.assertEquals(90.5, stats.getMinPrice());
+        Assertions.assertEquals(100.99, stats.getMaxPrice());
+        Assertions.assertEquals(95.745, stats.getAvgPrice(), 0.0001);
+        Assertions.assertNotNull(stats.getLatestProductDate());
+    }
+
+    @Test
+    public void findAllShouldReturnStatsForEveryCategory() {
+        Assertions.assertEquals(23, service.findAll().get(2).getProductCount());
+    }
+
+    @Test
+    public void findByIdShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> service.findById(NON_EXISTING_ID));
+    }
+}
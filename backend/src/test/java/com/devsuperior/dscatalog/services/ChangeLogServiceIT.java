@@ -0,0 +1,88 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.dto.CatalogChangeDTO;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.events.ChangeType;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+@SpringBootTest
+public class ChangeLogServiceIT {
+
+    @Autowired
+    private ChangeLogService service;
+
+    @Autowired
+    private ChangeLogWriter writer;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private ChangeLogService target;
+    private Object settleTime;
+
+    @BeforeEach
+    void setUp() {
+        target = AopTestUtils.getTargetObject(service);
+        settleTime = ReflectionTestUtils.getField(target, "settleTime");
+        ReflectionTestUtils.setField(target, "settleTime", Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(target, "settleTime", settleTime);
+    }
+
+    @Test
+    public void findSinceShouldReturnCommittedChangesAfterFlush() {
+        writer.flush();
+        long since = service.findSince(0, 1000).getNext();
+
+        CategoryDTO category = categoryService.insert(new CategoryDTO(null, "Garden"));
+        categoryService.delete(category.getId());
+        writer.flush();
+
+        ChangeFeedDTO feed = service.findSince(since, 10);
+
+        List<CatalogChangeDTO> changes = feed.getContent().stream()
+                .filter(change -> change.getEntityType().equals("category") && change.getEntityId().equals(category.getId()))
+                .toList();
+        Assertions.assertEquals(List.of(ChangeType.INSERTED, ChangeType.DELETED),
+                changes.stream().map(CatalogChangeDTO::getType).toList());
+        Assertions.assertTrue(changes.get(0).getPayload().contains("Garden"));
+        Assertions.assertEquals(feed.getContent().get(feed.getContent().size() - 1).getId(), feed.getNext());
+    }
+
+    @Test
+    public void findSinceShouldHoldBackChangesYoungerThanSettleTime() {
+        writer.flush();
+        long since = service.findSince(0, 1000).getNext();
+
+        CategoryDTO category = categoryService.insert(new CategoryDTO(null, "Pond"));
+        categoryService.delete(category.getId());
+        writer.flush();
+        ReflectionTestUtils.setField(target, "settleTime", Duration.ofMinutes(1));
+
+        ChangeFeedDTO feed = service.findSince(since, 10);
+
+        Assertions.assertTrue(feed.getContent().isEmpty());
+        Assertions.assertEquals(since, feed.getNext());
+    }
+
+    @Test
+    public void findSinceShouldThrowInvalidRequestExceptionWhenSizeIsTooLarge() {
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.findSince(0, Cursor.MAX_PAGE_SIZE + 1));
+    }
+}
@@ -0,0 +1,51 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.events.ProductsRepricedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+public class ChangeLogWriterTests {
+
+    private ChangeLogWriter writer;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new ChangeLogWriter();
+        ReflectionTestUtils.setField(writer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 2);
+        ReflectionTestUtils.setField(writer, "offerTimeout", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+        writer.init();
+    }
+
+    @Test
+    public void onProductsRepricedShouldTakeOneQueueSlotPerChunk() {
+        writer.onProductsRepriced(new ProductsRepricedEvent(List.of(1L, 2L, 3L, 4L, 5L)));
+        writer.onProductsRepriced(new ProductsRepricedEvent(List.of(6L, 7L, 8L)));
+
+        Assertions.assertEquals(2, meterRegistry.get("catalog.changes.queued").gauge().value());
+        Assertions.assertEquals(0, meterRegistry.get("catalog.changes.overflowed").counter().count());
+    }
+
+    @Test
+    public void onCategoryChangedShouldDropAndCountChangesWhenQueueIsFull() {
+        for (long id = 1; id <= 5; id++) {
+            writer.onCategoryChanged(CategoryChangedEvent.inserted(id, "Category " + id));
+        }
+
+        Assertions.assertEquals(2, meterRegistry.get("catalog.changes.queued").gauge().value());
+        Assertions.assertEquals(3, meterRegistry.get("catalog.changes.overflowed").counter().count());
+        Assertions.assertEquals(3, meterRegistry.get("catalog.changes.dropped").tag("reason", "queue-full").counter().count());
+    }
+}
@@ -0,0 +1,42 @@
+package com.devsuperior.dscatalog.services;
+
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@SpringBootTest
+@Transactional
+public class ProductExportServiceIT {
+
+    @Autowired
+    private ProductExportService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long COUNT_TOTAL_PRODUCTS = 25L;
+
+    @Test
+    public void exportNdjsonShouldWriteOneLinePerProductWithCategories() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = service.exportNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(COUNT_TOTAL_PRODUCTS, exported);
+        Assertions.assertEquals(COUNT_TOTAL_PRODUCTS, lines.length);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        Assertions.assertEquals(1L, first.get("id").asLong());
+        Assertions.assertEquals(2L, first.get("categories").get(0).get("id").asLong());
+    }
+}
@@ -0,0 +1,155 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.ImageStatus;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.factories.Factory;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+@SpringBootTest
+public class ProductImageServiceIT {
+
+    @Autowired
+    private ProductImageService service;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ImageStorage storage;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productId = productService.insert(Factory.createProductDTO()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productService.delete(productId);
+    }
+
+    @Test
+    public void uploadShouldStoreOriginalAndRenderVariantsInBackground() throws Exception {
+        ProductDTO uploaded = service.upload(productId, png(1000, 500));
+
+        Path original = storage.fromUrl(uploaded.getImgUrl());
+        Assertions.assertNotNull(original);
+        Assertions.assertEquals(1000, ImageIO.read(original.toFile()).getWidth());
+
+        ProductDTO rendered = awaitVariants();
+        BufferedImage thumbnail = ImageIO.read(storage.fromUrl(rendered.getThumbnailUrl()).toFile());
+        BufferedImage medium = ImageIO.read(storage.fromUrl(rendered.getMediumUrl()).toFile());
+        Assertions.assertEquals(200, thumbnail.getWidth());
+        Assertions.assertEquals(100, thumbnail.getHeight());
+        Assertions.assertEquals(800, medium.getWidth());
+    }
+
+    @Test
+    public void uploadShouldDeletePreviousFilesOnceReplaced() throws Exception {
+        service.upload(productId, png(1000, 500));
+        ProductDTO first = awaitVariants();
+        Path original = storage.fromUrl(first.getImgUrl());
+        Path thumbnail = storage.fromUrl(first.getThumbnailUrl());
+        Path medium = storage.fromUrl(first.getMediumUrl());
+
+        service.upload(productId, png(600, 300));
+
+        Assertions.assertFalse(Files.exists(original));
+        Assertions.assertFalse(Files.exists(thumbnail));
+        Assertions.assertFalse(Files.exists(medium));
+        ProductDTO second = awaitVariants();
+        Assertions.assertTrue(Files.isRegularFile(storage.fromUrl(second.getThumbnailUrl())));
+    }
+
+    @Test
+    public void uploadShouldThrowInvalidRequestExceptionWhenFileIsNotAnImage() {
+        MockMultipartFile file = new MockMultipartFile("file", "notes.txt", MediaType.TEXT_PLAIN_VALUE,
+                "not an image".getBytes());
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.upload(productId, file));
+    }
+
+    @Test
+    public void uploadShouldThrowInvalidRequestExceptionWhenImageExceedsMaxPixels() throws Exception {
+        MockMultipartFile file = pngHeader(10_000, 10_000);
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.upload(productId, file));
+    }
+
+    @Test
+    public void uploadShouldMarkImageFailedWhenPixelsCannotBeDecoded() throws Exception {
+        service.upload(productId, pngHeader(100, 100));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (repository.findById(productId).orElseThrow().getImgStatus() != ImageStatus.FAILED) {
+            if (System.nanoTime() > deadline) {
+                Assertions.fail("image was not marked failed");
+            }
+            Thread.sleep(20);
+        }
+        Assertions.assertNull(productService.findById(productId).getThumbnailUrl());
+    }
+
+    private ProductDTO awaitVariants() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            ProductDTO product = productService.findById(productId);
+            if (product.getThumbnailUrl() != null) {
+                return product;
+            }
+            Thread.sleep(20);
+        }
+        return Assertions.fail("variants were not rendered");
+    }
+
+    private MockMultipartFile png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return new MockMultipartFile("file", "photo.png", MediaType.IMAGE_PNG_VALUE, out.toByteArray());
+    }
+
+    /**
+     * A PNG with a valid header claiming the given size and no pixel data.
+     */
+    private MockMultipartFile pngHeader(int width, int height) throws Exception {
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        DataOutputStream ihdr = new DataOutputStream(chunk);
+        ihdr.writeBytes("IHDR");
+        ihdr.writeInt(width);
+        ihdr.writeInt(height);
+        ihdr.write(new byte[] {8, 2, 0, 0, 0});
+        CRC32 crc = new CRC32();
+        crc.update(chunk.toByteArray());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream png = new DataOutputStream(out);
+        png.write(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'});
+        png.writeInt(13);
+        png.write(chunk.toByteArray());
+        png.writeInt((int) crc.getValue());
+        return new MockMultipartFile("file", "photo.png", MediaType.IMAGE_PNG_VALUE, out.toByteArray());
+    }
+}
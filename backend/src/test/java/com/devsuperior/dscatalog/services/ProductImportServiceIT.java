@@ -0,0 +1,87 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.dto.ProductImportResultDTO;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+@SpringBootTest
+@Transactional
+public class ProductImportServiceIT {
+
+    @Autowired
+    private ProductImportService service;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private long COUNT_TOTAL_PRODUCTS = 25L;
+
+    @Test
+    public void importJsonShouldPersistValidRowsAndReportInvalidOnes() throws IOException {
+        String body = """
+                [
+                  {"name": "Kindle", "price": 120.0, "categories": [{"id": 2}]},
+                  {"name": "Ghost", "price": 10.0, "categories": [{"id": 999}]},
+                  {"price": 10.0}
+                ]
+                """;
+
+        ProductImportResultDTO result = service.importJson(stream(body));
+
+        Assertions.assertEquals(3, result.getReceived());
+        Assertions.assertEquals(1, result.getImported());
+        Assertions.assertEquals(2, result.getErrors().size());
+        Assertions.assertEquals(2, result.getErrors().get(0).getRow());
+        Assertions.assertEquals(3, result.getErrors().get(1).getRow());
+        Assertions.assertEquals(COUNT_TOTAL_PRODUCTS + 1, repository.count());
+    }
+
+    @Test
+    public void importNdjsonShouldSkipMalformedLinesWithoutAbortingTheLoad() throws IOException {
+        String body = """
+                {"name": "Kindle", "price": 120.0, "categories": [{"id": 2}]}
+                {"name": "Broken",
+                {"name": "Notebook", "price": 3200.0, "categories": [{"id": 3}]}
+                """;
+
+        ProductImportResultDTO result = service.importNdjson(stream(body));
+
+        Assertions.assertEquals(3, result.getReceived());
+        Assertions.assertEquals(2, result.getImported());
+        Assertions.assertEquals(1, result.getErrors().size());
+        Assertions.assertEquals(2, result.getErrors().get(0).getRow());
+        Assertions.assertEquals(COUNT_TOTAL_PRODUCTS + 2, repository.count());
+    }
+
+    @Test
+    public void importJsonShouldTreatNullCategoriesAsEmptyAndRejectNullCategoryEntries() throws IOException {
+        String body = """
+                [
+                  {"name": "Kindle", "price": 120.0, "categories": null},
+                  {"name": "Ghost", "price": 10.0, "categories": [null]}
+                ]
+                """;
+
+        ProductImportResultDTO result = service.importJson(stream(body));
+
+        Assertions.assertEquals(2, result.getReceived());
+        Assertions.assertEquals(1, result.getImported());
+        Assertions.assertEquals(1, result.getErrors().size());
+        Assertions.assertEquals(2, result.getErrors().get(0).getRow());
+        Assertions.assertEquals(COUNT_TOTAL_PRODUCTS + 1, repository.count());
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,143 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFieldsDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.dto.ProductPatchDTO;
+import com.devsuperior.dscatalog.entities.ProductListing;
+import com.devsuperior.dscatalog.factories.Factory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@SpringBootTest
+@Transactional
+public class ProductListingServiceIT {
+
+    @Autowired
+    private ProductListingService service;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ProductFilterDTO NO_FILTER = new ProductFilterDTO(null, null, null, null, null);
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void findAllShouldReturnProductsWithCategoriesFromOneTable() {
+        Page<ProductDTO> result = service.findAll(NO_FILTER, PageRequest.of(0, 10, Sort.by("id")));
+
+        // page query + count query, no product or category entity loading
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(25, result.getTotalElements());
+        Assertions.assertEquals("The Lord of the Rings", result.getContent().get(0).getName());
+        Assertions.assertEquals(List.of(1L, 3L), categoryIds(result.getContent().get(1)));
+    }
+
+    @Test
+    public void findFieldsShouldReadOnlyRequestedOptionalColumns() {
+        Page<ProductFieldsDTO> result = service.findFields(NO_FILTER, Set.of("categories"), PageRequest.of(0, 10, Sort.by("id")));
+
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        Assertions.assertEquals(25, result.getTotalElements());
+        Map<String, Object> optional = result.getContent().get(1).getOptionalFields();
+        Assertions.assertFalse(optional.containsKey("description"));
+        Assertions.assertEquals(2, ((List<?>) optional.get("categories")).size());
+    }
+
+    @Test
+    public void insertShouldAddListingRow() {
+        ProductDTO inserted = productService.insert(Factory.createProductDTO());
+
+        ProductDTO listed = findById(inserted.getId());
+
+        Assertions.assertEquals("Iphone", listed.getName());
+        Assertions.assertEquals("Books", listed.getCategories().get(0).getName());
+    }
+
+    @Test
+    public void patchShouldUpdateListingRow() {
+        ProductPatchDTO patch = new ProductPatchDTO();
+        patch.setPrice(1.0);
+        patch.setCategories(List.of(new CategoryDTO(2L, null)));
+
+        productService.patch(2L, patch);
+        ProductDTO listed = findById(2L);
+
+        Assertions.assertEquals(1.0, listed.getPrice());
+        Assertions.assertEquals(List.of(2L), categoryIds(listed));
+    }
+
+    @Test
+    public void pricePatchShouldUpdateListingPriceWithoutLoadingTheRow() {
+        ProductPatchDTO patch = new ProductPatchDTO();
+        patch.setPrice(1.0);
+
+        productService.patch(2L, patch);
+
+        Assertions.assertEquals(0, statistics.getEntityStatistics(ProductListing.class.getName()).getLoadCount());
+        ProductDTO listed = findById(2L);
+        Assertions.assertEquals(1.0, listed.getPrice());
+        Assertions.assertEquals("Smart TV", listed.getName());
+        Assertions.assertNotNull(listed.getDescription());
+    }
+
+    @Test
+    public void deleteShouldRemoveListingRow() {
+        productService.delete(1L);
+
+        Assertions.assertTrue(service.findAll(NO_FILTER, PageRequest.of(0, 50)).stream()
+                .noneMatch(product -> product.getId() == 1L));
+    }
+
+    @Test
+    public void categoryRenameShouldFanOutToEveryListingRow() {
+        categoryService.update(3L, new CategoryDTO(3L, "Laptops"));
+
+        Page<ProductDTO> result = service.findAll(new ProductFilterDTO(List.of(3L), null, null, null, null),
+                PageRequest.of(0, 50));
+
+        Assertions.assertEquals(23, result.getTotalElements());
+        Assertions.assertTrue(result.stream().allMatch(product -> product.getCategories().stream()
+                .filter(category -> category.getId() == 3L)
+                .allMatch(category -> category.getName().equals("Laptops"))));
+    }
+
+    private ProductDTO findById(Long id) {
+        return service.findAll(NO_FILTER, PageRequest.of(0, 50)).stream()
+                .filter(product -> product.getId().equals(id))
+                .findFirst().orElseThrow();
+    }
+
+    private List<Long> categoryIds(ProductDTO product) {
+        return product.getCategories().stream().map(CategoryDTO::getId).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+public class ProductPageSnapshotIT {
+
+    @Autowired
+    private ProductPageSnapshot snapshot;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        snapshot.rebuild();
+    }
+
+    @Test
+    public void findShouldReturnPreSerializedPageForConfiguredSort() {
+        ProductPageSnapshot.HotPage page = snapshot.find(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "price")));
+
+        JsonNode json = objectMapper.readTree(page.json());
+        Assertions.assertEquals(25, json.get("page").get("totalElements").asInt());
+        Assertions.assertEquals("PC Gamer Foo", json.get("content").get(0).get("name").asString());
+        Assertions.assertNotNull(page.stamp().getETag());
+    }
+
+    @Test
+    public void findShouldReturnNullWhenPageIsNotHeld() {
+        Assertions.assertNull(snapshot.find(PageRequest.of(3, 20)));
+        Assertions.assertNull(snapshot.find(PageRequest.of(0, 10)));
+        Assertions.assertNull(snapshot.find(PageRequest.of(0, 20, Sort.by("date"))));
+    }
+
+    @Test
+    public void refreshShouldRebuildWhenCatalogVersionMovedWithoutLocalEvent() {
+        jdbcTemplate.update("UPDATE product SET price = 1.0, version = version + 1 WHERE id = 25");
+        jdbcTemplate.update("UPDATE catalog_version SET version = version + 1 WHERE name = 'products'");
+        try {
+            snapshot.refresh();
+            Assertions.assertNotNull(snapshot.find(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "price"))));
+
+            snapshot.checkVersion();
+            Assertions.assertNull(snapshot.find(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "price"))));
+            snapshot.refresh();
+
+            JsonNode json = objectMapper.readTree(snapshot.find(PageRequest.of(0, 20,
+                    Sort.by(Sort.Direction.DESC, "price"))).json());
+            Assertions.assertEquals("PC Gamer Boo", json.get("content").get(0).get("name").asString());
+        } finally {
+            jdbcTemplate.update("UPDATE product SET price = 4170.0, version = version + 1 WHERE id = 25");
+            jdbcTemplate.update("UPDATE catalog_version SET version = version + 1 WHERE name = 'products'");
+        }
+    }
+
+    @Test
+    public void findShouldReturnNullUntilRefreshedAfterProductWrite() {
+        snapshot.onProductChanged(ProductChangedEvent.deleted(1000L));
+
+        Assertions.assertNull(snapshot.find(PageRequest.of(0, 20)));
+
+        snapshot.refresh();
+
+        Assertions.assertNotNull(snapshot.find(PageRequest.of(0, 20)));
+    }
+}
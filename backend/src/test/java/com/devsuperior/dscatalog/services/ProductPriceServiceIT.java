@@ -0,0 +1,64 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.dto.ProductPriceDTO;
+import com.devsuperior.dscatalog.dto.ProductRepriceResultDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@SpringBootTest
+@Transactional
+public class ProductPriceServiceIT {
+
+    @Autowired
+    private ProductPriceService service;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private final long EXISTING_ID = 1L;
+    private final long NON_EXISTING_ID = 2000L;
+
+    @Test
+    public void updatePricesShouldUpdateExistingProductsAndReportMissingOnes() {
+        ProductRepriceResultDTO result = service.updatePrices(List.of(
+                new ProductPriceDTO(EXISTING_ID, 10.0), new ProductPriceDTO(NON_EXISTING_ID, 20.0)));
+
+        Assertions.assertEquals(1, result.getAffected());
+        Assertions.assertEquals(List.of(NON_EXISTING_ID), result.getMissing());
+
+        Product product = repository.findById(EXISTING_ID).orElseThrow();
+        Assertions.assertEquals(10.0, product.getPrice());
+        Assertions.assertEquals(1, product.getVersion());
+        Assertions.assertNotNull(product.getUpdatedDate());
+    }
+
+    @Test
+    public void updatePricesShouldThrowInvalidRequestExceptionWhenPriceIsNegative() {
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> service.updatePrices(List.of(new ProductPriceDTO(EXISTING_ID, -1.0))));
+    }
+
+    @Test
+    public void adjustPricesShouldApplyPercentageToEveryProductOfCategory() {
+        ProductRepriceResultDTO result = service.adjustPrices(1L, 10);
+
+        Assertions.assertEquals(1, result.getAffected());
+        Assertions.assertEquals(2409.0, repository.findById(2L).orElseThrow().getPrice(), 0.001);
+        Assertions.assertEquals(90.5, repository.findById(EXISTING_ID).orElseThrow().getPrice());
+    }
+
+    @Test
+    public void adjustPricesShouldThrowResourceNotFoundExceptionWhenCategoryDoesNotExist() {
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> service.adjustPrices(NON_EXISTING_ID, 10));
+    }
+}
@@ -0,0 +1,76 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.events.ProductSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+public class ProductSearchIndexTests {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new ProductSearchIndex();
+        ProductSearchIndex.Postings postings = index.beginRebuild();
+        postings.add(snapshot(1L, "Gamer Mouse", "Fast and precise", 3L));
+        postings.add(snapshot(2L, "Mechanical Keyboard", "Built for gamer setups", 3L));
+        postings.add(snapshot(3L, "Gamer Chair", "Comfortable for long sessions", 1L));
+        index.finishRebuild(postings);
+    }
+
+    @Test
+    public void searchShouldRankNameMatchesAboveDescriptionMatches() {
+        ProductSearchIndex.SearchResult result = index.search("gamer", null, 0, 10);
+
+        Assertions.assertEquals(3, result.getTotal());
+        Assertions.assertEquals(2L, result.getIds().get(2));
+    }
+
+    @Test
+    public void searchShouldRequireEveryTermIgnoringCaseAndAccents() {
+        ProductSearchIndex.SearchResult result = index.search("GAMER Móuse", null, 0, 10);
+
+        Assertions.assertEquals(List.of(1L), result.getIds());
+    }
+
+    @Test
+    public void searchShouldFilterByCategory() {
+        ProductSearchIndex.SearchResult result = index.search("gamer", 1L, 0, 10);
+
+        Assertions.assertEquals(List.of(3L), result.getIds());
+    }
+
+    @Test
+    public void onProductChangedShouldKeepIndexCurrent() {
+        index.onProductChanged(ProductChangedEvent.deleted(1L));
+        index.onProductChanged(ProductChangedEvent.updated(null, snapshot(3L, "Office Chair", "Comfortable", 1L)));
+        index.onProductChanged(ProductChangedEvent.inserted(snapshot(4L, "Gamer Headset", "Loud", 2L)));
+
+        ProductSearchIndex.SearchResult result = index.search("gamer", null, 0, 10);
+
+        Assertions.assertEquals(List.of(4L, 2L), result.getIds());
+    }
+
+    @Test
+    public void finishRebuildShouldReplayChangesReceivedDuringRebuild() {
+        ProductSearchIndex.Postings postings = index.beginRebuild();
+        postings.add(snapshot(1L, "Gamer Mouse", "Fast and precise", 3L));
+        index.onProductChanged(ProductChangedEvent.inserted(snapshot(5L, "Gamer Desk", "Large", 3L)));
+
+        index.finishRebuild(postings);
+
+        Assertions.assertEquals(2, index.size());
+        Assertions.assertEquals(List.of(1L, 5L), index.search("gamer", null, 0, 10).getIds());
+    }
+
+    private ProductSnapshot snapshot(Long id, String name, String description, Long categoryId) {
+        return new ProductSnapshot(id, name, description, 100.0, null, null, null, Instant.now(), Set.of(categoryId));
+    }
+}
@@ -0,0 +1,61 @@
+package com.devsuperior.dscatalog.services;
+
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.factories.Factory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+public class ProductSearchServiceIT {
+
+    @Autowired
+    private ProductSearchService service;
+
+    @Autowired
+    private ProductService productService;
+
+    private final long COUNT_PC_GAMER_PRODUCTS = 21L;
+
+    @Test
+    public void searchShouldFindProductsIndexedAtStartup() {
+        Page<ProductDTO> result = service.search("macbook", null, PageRequest.of(0, 10));
+
+        Assertions.assertEquals(1, result.getTotalElements());
+        Assertions.assertEquals("Macbook Pro", result.getContent().get(0).getName());
+        Assertions.assertFalse(result.getContent().get(0).getCategories().isEmpty());
+    }
+
+    @Test
+    public void searchShouldPageRankedResultsAndFilterByCategory() {
+        Page<ProductDTO> result = service.search("pc gamer", 3L, PageRequest.of(0, 10));
+        Page<ProductDTO> otherCategory = service.search("pc gamer", 1L, PageRequest.of(0, 10));
+
+        Assertions.assertEquals(COUNT_PC_GAMER_PRODUCTS, result.getTotalElements());
+        Assertions.assertEquals(10, result.getContent().size());
+        Assertions.assertTrue(otherCategory.isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void searchShouldReflectCommittedInsertsAndDeletes() {
+        ProductDTO product = Factory.createProductDTO();
+        product.setName("Iphone Galactic Edition");
+        ProductDTO inserted = productService.insert(product);
+        try {
+            Page<ProductDTO> result = service.search("galactic", null, PageRequest.of(0, 10));
+            Assertions.assertEquals(inserted.getId(), result.getContent().get(0).getId());
+        } finally {
+            productService.delete(inserted.getId());
+        }
+
+        Assertions.assertTrue(service.search("galactic", null, PageRequest.of(0, 10)).isEmpty());
+    }
+}
@@ -1,11 +1,28 @@
 package com.devsuperior.dscatalog.services;
 
 
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.dto.ProductLookupDTO;
+import com.devsuperior.dscatalog.dto.ProductPatchDTO;
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
+import com.devsuperior.dscatalog.dto.ResourceStampDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.exceptions.PreconditionFailedException;
 import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
 import com.devsuperior.dscatalog.factories.Factory;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -14,6 +31,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @SpringBootTest
 @Transactional
 public class ProductServiceIT {
@@ -24,15 +49,30 @@ public class ProductServiceIT {
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private final long EXISTING_ID = 1L;
     private final long NON_EXISTING_ID = 2000L;
     private long COUNT_TOTAL_PRODUCTS = 25L;
+    private final ProductFilterDTO NO_FILTER = new ProductFilterDTO();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
 
     @Test
     public void findAllPagedShouldReturnPageWhenPage0Size10() {
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        Page<ProductDTO> result = service.findAllPaged(pageRequest);
+        Page<ProductDTO> result = service.findAllPaged(NO_FILTER, pageRequest);
 
         Assertions.assertTrue(result.hasContent());
         Assertions.assertEquals(0, result.getNumber());
@@ -40,11 +80,22 @@ public class ProductServiceIT {
         Assertions.assertEquals(COUNT_TOTAL_PRODUCTS, result.getTotalElements());
     }
 
+    @Test
+    public void findAllPagedShouldLoadCategoriesOfWholePageInFixedNumberOfStatements() {
+        PageRequest pageRequest = PageRequest.of(0, 10);
+
+        Page<ProductDTO> result = service.findAllPaged(NO_FILTER, pageRequest);
+
+        // page query + count query; categories are stored on the listing row, regardless of page size
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        result.forEach(product -> Assertions.assertFalse(product.getCategories().isEmpty()));
+    }
+
     @Test
     public void findAllPagedShouldReturnEmptyPageWhenPageDoesNotExist() {
         PageRequest pageRequest = PageRequest.of(50, 10);
 
-        Page<ProductDTO> result = service.findAllPaged(pageRequest);
+        Page<ProductDTO> result = service.findAllPaged(NO_FILTER, pageRequest);
 
         Assertions.assertTrue(result.isEmpty());
     }
@@ -54,7 +105,7 @@ public class ProductServiceIT {
         PageRequest pageRequest = PageRequest.of(0, 10,
                 Sort.by("name"));
 
-        Page<ProductDTO> result = service.findAllPaged(pageRequest);
+        Page<ProductDTO> result = service.findAllPaged(NO_FILTER, pageRequest);
 
         Assertions.assertTrue(result.hasContent());
         Assertions.assertEquals("Macbook Pro", result.getContent().get(0).getName());
@@ -62,6 +113,111 @@ public class ProductServiceIT {
         Assertions.assertEquals("PC Gamer Alfa", result.getContent().get(2).getName());
     }
 
+    @Test
+    public void findAllPagedShouldReturnEachProductOnceWhenFilteringByManyCategories() {
+        ProductFilterDTO filter = new ProductFilterDTO(List.of(1L, 3L), null, null, null, null);
+
+        Page<ProductDTO> result = service.findAllPaged(filter, PageRequest.of(0, 50));
+
+        Assertions.assertEquals(23, result.getTotalElements());
+        Assertions.assertEquals(23, result.getContent().stream().map(ProductDTO::getId).distinct().count());
+    }
+
+    @Test
+    public void findAllPagedShouldCombineCategoryPriceAndDateFilters() {
+        ProductFilterDTO filter = new ProductFilterDTO(List.of(3L), 1300.0, 1500.0,
+                Instant.parse("2020-07-14T00:00:00Z"), null);
+
+        Page<ProductDTO> result = service.findAllPaged(filter, PageRequest.of(0, 10, Sort.by("id")));
+
+        Assertions.assertEquals(List.of(6L, 7L, 11L, 13L, 18L), result.map(ProductDTO::getId).getContent());
+    }
+
+    @Test
+    public void findSummariesShouldReturnFilteredSortedPageInTwoStatements() {
+        ProductFilterDTO filter = new ProductFilterDTO(List.of(3L), null, null, null, null);
+
+        Page<ProductSummaryDTO> result = service.findSummaries(filter, PageRequest.of(0, 5, Sort.by("price").descending()));
+
+        // page query + count query, no entity or category loading
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        Assertions.assertEquals(23, result.getTotalElements());
+        Assertions.assertEquals("PC Gamer Foo", result.getContent().get(0).getName());
+    }
+
+    @Test
+    public void findAllPagedShouldThrowInvalidRequestExceptionWhenPriceRangeIsInverted() {
+        ProductFilterDTO filter = new ProductFilterDTO(null, 500.0, 100.0, null, null);
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.findAllPaged(filter, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void findAllByCursorShouldWalkAllProductsSortedByNameWithoutGaps() {
+        List<ProductDTO> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<ProductDTO> result = service.findAllByCursor(cursor, "name", 10);
+            walked.addAll(result.getContent());
+            cursor = result.getNextCursor();
+        } while (cursor != null);
+
+        Assertions.assertEquals(COUNT_TOTAL_PRODUCTS, walked.size());
+        Assertions.assertEquals(COUNT_TOTAL_PRODUCTS, walked.stream().map(ProductDTO::getId).distinct().count());
+        Assertions.assertEquals("Macbook Pro", walked.get(0).getName());
+        Assertions.assertEquals("PC Gamer", walked.get(1).getName());
+    }
+
+    @Test
+    public void findAllByCursorShouldWalkProductsWithNullPriceFirst() {
+        for (int i = 0; i < 3; i++) {
+            ProductDTO dto = Factory.createProductDTO();
+            dto.setPrice(null);
+            service.insert(dto);
+        }
+
+        List<ProductDTO> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<ProductDTO> result = service.findAllByCursor(cursor, "price", 2);
+            walked.addAll(result.getContent());
+            cursor = result.getNextCursor();
+        } while (cursor != null);
+
+        Assertions.assertEquals(COUNT_TOTAL_PRODUCTS + 3, walked.size());
+        Assertions.assertEquals(COUNT_TOTAL_PRODUCTS + 3, walked.stream().map(ProductDTO::getId).distinct().count());
+        Assertions.assertTrue(walked.subList(0, 3).stream().allMatch(product -> product.getPrice() == null));
+    }
+
+    @Test
+    public void findAllByCursorShouldTreatLegacyNullPriceAsNull() {
+        ProductDTO dto = Factory.createProductDTO();
+        dto.setPrice(null);
+        Long id = service.insert(dto).getId();
+        String legacy = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("price:" + id + ":null").getBytes(StandardCharsets.UTF_8));
+
+        CursorPageDTO<ProductDTO> result = service.findAllByCursor(legacy, "price", 100);
+
+        Assertions.assertEquals(COUNT_TOTAL_PRODUCTS, result.getContent().size());
+        Assertions.assertTrue(result.getContent().stream().noneMatch(product -> product.getPrice() == null));
+    }
+
+    @Test
+    public void findAllByCursorShouldReturnNullNextCursorOnLastPage() {
+        CursorPageDTO<ProductDTO> result = service.findAllByCursor(null, "id", 100);
+
+        Assertions.assertEquals(COUNT_TOTAL_PRODUCTS, result.getContent().size());
+        Assertions.assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void findAllByCursorShouldThrowInvalidRequestExceptionWhenCursorIsMalformed() {
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> service.findAllByCursor("not-a-cursor", "id", 10));
+    }
+
     @Test
     public void findByIdShouldReturnProductDTOWhenIdExists() {
         var result = service.findById(EXISTING_ID);
@@ -70,6 +226,26 @@ public class ProductServiceIT {
         Assertions.assertEquals(EXISTING_ID, result.getId());
     }
 
+    @Test
+    public void findByIdShouldLoadProductAndCategoriesInSingleStatement() {
+        var result = service.findById(EXISTING_ID);
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertFalse(result.getCategories().isEmpty());
+    }
+
+    @Test
+    public void findAllPagedShouldRecordServiceRowAndMappingMetrics() {
+        long calls = serviceTimerCount("findAllPaged");
+        double rows = rowsTotal("findAllPaged");
+
+        service.findAllPaged(NO_FILTER, PageRequest.of(0, 10));
+
+        Assertions.assertEquals(calls + 1, serviceTimerCount("findAllPaged"));
+        Assertions.assertEquals(rows + 10, rowsTotal("findAllPaged"));
+        Assertions.assertNotNull(meterRegistry.find("catalog.mapping").tag("dto", "ProductDTO").timer());
+    }
+
     @Test
     public void findByIdShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
         Assertions.assertThrows(ResourceNotFoundException.class, () -> {
@@ -101,6 +277,89 @@ public class ProductServiceIT {
         Assertions.assertEquals(productFound.getImgUrl(), updatedProduct.getImgUrl());
     }
 
+    @Test
+    public void findAllByIdShouldKeepRequestOrderAndReportMissingIdsInOneStatement() {
+        ProductLookupDTO result = service.findAllById(List.of(3L, NON_EXISTING_ID, EXISTING_ID, 3L));
+
+        Assertions.assertEquals(List.of(3L, EXISTING_ID), result.getContent().stream().map(ProductDTO::getId).toList());
+        Assertions.assertEquals(List.of(NON_EXISTING_ID), result.getMissing());
+        Assertions.assertFalse(result.getContent().get(0).getCategories().isEmpty());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findAllByIdShouldThrowInvalidRequestExceptionWhenNoIdsAreGiven() {
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.findAllById(List.of()));
+    }
+
+    @Test
+    public void patchShouldChangeCategoryLinksByDiffWithoutRecreatingCollection() {
+        ProductPatchDTO patch = new ProductPatchDTO();
+        patch.setPrice(1.0);
+        patch.setCategories(List.of(new CategoryDTO(2L, null), new CategoryDTO(3L, null)));
+
+        ProductDTO result = service.patch(2L, patch);
+        repository.flush();
+
+        Assertions.assertEquals(1.0, result.getPrice());
+        Assertions.assertEquals("Smart TV", result.getName());
+        Assertions.assertEquals(0, statistics.getCollectionRecreateCount());
+        Assertions.assertEquals(1, statistics.getCollectionUpdateCount());
+        Assertions.assertEquals(Set.of(2L, 3L), repository.findById(2L).orElseThrow().getCategories().stream()
+                .map(Category::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void patchShouldNotTouchCategoryLinksWhenOnlyPriceChanges() {
+        ProductPatchDTO patch = new ProductPatchDTO();
+        patch.setPrice(1.0);
+
+        service.patch(2L, patch);
+        repository.flush();
+
+        Assertions.assertEquals(1, statistics.getEntityUpdateCount());
+        Assertions.assertEquals(0, statistics.getCollectionUpdateCount());
+        Assertions.assertEquals(0, statistics.getCollectionRecreateCount());
+    }
+
+    @Test
+    public void findStampByIdShouldChangeWhenProductIsUpdated() {
+        ResourceStampDTO before = service.findStampById(EXISTING_ID);
+
+        service.update(EXISTING_ID, Factory.createProductDTO());
+        ResourceStampDTO after = service.findStampById(EXISTING_ID);
+
+        Assertions.assertEquals(before.getVersions() + 1, after.getVersions());
+        Assertions.assertNotEquals(before.getETag(), after.getETag());
+        Assertions.assertNotNull(after.getUpdatedDate());
+    }
+
+    @Test
+    public void findStampByIdsShouldChangeOnlyWhenRequestedProductsChange() {
+        ResourceStampDTO before = service.findStampByIds(List.of(EXISTING_ID, 3L));
+
+        service.update(2L, Factory.createProductDTO());
+        Assertions.assertEquals(before.getETag(), service.findStampByIds(List.of(EXISTING_ID, 3L)).getETag());
+
+        service.update(3L, Factory.createProductDTO());
+        Assertions.assertNotEquals(before.getETag(), service.findStampByIds(List.of(EXISTING_ID, 3L)).getETag());
+    }
+
+    @Test
+    public void findStampByIdShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> service.findStampById(NON_EXISTING_ID));
+    }
+
+    @Test
+    public void updateShouldThrowPreconditionFailedExceptionWhenVersionIsStale() {
+        long version = service.findStampById(EXISTING_ID).getVersions();
+        service.update(EXISTING_ID, Factory.createProductDTO(), version);
+        repository.flush();
+
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> service.update(EXISTING_ID, Factory.createProductDTO(), version));
+    }
+
     @Test
     public void updateShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
         Assertions.assertThrows(ResourceNotFoundException.class,
@@ -118,4 +377,16 @@ public class ProductServiceIT {
         Assertions.assertThrows(ResourceNotFoundException.class,
                 () -> service.delete(NON_EXISTING_ID));
     }
+
+    private long serviceTimerCount(String method) {
+        Timer timer = meterRegistry.find("catalog.service")
+                .tags("class", "ProductService", "method", method, "exception", "none").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double rowsTotal(String method) {
+        DistributionSummary summary = meterRegistry.find("catalog.service.rows")
+                .tags("class", "ProductService", "method", method).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
 }
@@ -2,6 +2,9 @@ package com.devsuperior.dscatalog.services;
 
 
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.dto.ProductPatchDTO;
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
 import com.devsuperior.dscatalog.exceptions.DataBaseException;
@@ -9,6 +12,7 @@ import com.devsuperior.dscatalog.exceptions.ResourceNotFoundException;
 import com.devsuperior.dscatalog.factories.Factory;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,11 +21,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -41,6 +47,9 @@ public class ProductServiceTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher publisher;
+
     private final long EXISTING_ID = 1L;
     private final long NON_EXISTING_ID = 2L;
     private final long DEPENDENT_ID = 3L;
@@ -48,10 +57,11 @@ public class ProductServiceTests {
     private final Product PRODUCT = Factory.createProduct();
     private final Category CATEGORY = Factory.createCategory();
     private final ProductDTO PRODUCT_DTO = new ProductDTO(PRODUCT, Set.of(CATEGORY));
-    private final PageImpl<Product> PAGE = new PageImpl<>(List.of(new Product()));
+    private final PageImpl<ProductSummaryDTO> PAGE = new PageImpl<>(List.of(new ProductSummaryDTO()));
 
     @BeforeEach
     void setUp() throws Exception {
+        ReflectionTestUtils.setField(productService, "meterRegistry", new SimpleMeterRegistry());
     }
 
     @Test
@@ -68,13 +78,28 @@ public class ProductServiceTests {
     public void updateShouldReturnProductDTOWhenIdExist() {
         when(productRepository.getReferenceById(EXISTING_ID)).thenReturn(PRODUCT);
         when(productRepository.save(any())).thenReturn(PRODUCT);
-        when(categoryRepository.getReferenceById(any())).thenReturn(CATEGORY);
 
         ProductDTO result = productService.update(EXISTING_ID, PRODUCT_DTO);
 
         Assertions.assertNotNull(result);
         verify(productRepository, times(1)).getReferenceById(EXISTING_ID);
         verify(productRepository, times(1)).save(any());
+        verify(categoryRepository, never()).getReferenceById(any());
+    }
+
+    @Test
+    public void patchShouldOnlyChangeGivenFields() {
+        when(productRepository.getReferenceById(EXISTING_ID)).thenReturn(PRODUCT);
+        when(productRepository.save(any())).thenReturn(PRODUCT);
+        ProductPatchDTO patch = new ProductPatchDTO();
+        patch.setPrice(999.0);
+
+        ProductDTO result = productService.patch(EXISTING_ID, patch);
+
+        Assertions.assertEquals(999.0, result.getPrice());
+        Assertions.assertEquals("Iphone", result.getName());
+        Assertions.assertEquals(1, PRODUCT.getCategories().size());
+        verify(categoryRepository, never()).getReferenceById(any());
     }
 
     @Test
@@ -107,14 +132,14 @@ public class ProductServiceTests {
     }
 
     @Test
-    public void findAllPagedShoudReturnPage() {
-        when(productRepository.findAll((Pageable) any())).thenReturn(PAGE);
-
+    public void findSummariesShoudReturnPage() {
         Pageable pageRequest = PageRequest.of(0, 10);
-        Page<ProductDTO> result = productService.findAllPaged(pageRequest);
+        when(productRepository.findSummaries(any(), eq(pageRequest))).thenReturn(PAGE);
+
+        Page<ProductSummaryDTO> result = productService.findSummaries(new ProductFilterDTO(), pageRequest);
 
         Assertions.assertNotNull(result);
-        verify(productRepository, times(1)).findAll(pageRequest);
+        verify(productRepository, times(1)).findSummaries(any(), eq(pageRequest));
     }
 
     @Test